@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# ============================================
+# Construye el modo de arranque rápido
+# ============================================
+# 1. Empaqueta con Spring AOT (perfil Maven fast-startup)
+# 2. Extrae el jar en capas (requisito de AppCDS)
+# 3. Ejecución de entrenamiento que genera el archivo AppCDS
+#
+# El entrenamiento levanta el contexto hasta el refresh, así que necesita
+# la BD accesible y las variables del perfil prod (DATABASE_URL, ...).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+OUT=target/fast-startup
+
+./mvnw -B -Pfast-startup -DskipTests package
+
+JAR=$(ls target/veterinaria-backend-*.jar | grep -v '\.original$' | head -n 1)
+rm -rf "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT"
+
+java -XX:ArchiveClassesAtExit="$OUT/application.jsa" \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -Dspring.profiles.active=prod \
+     -jar "$OUT/$(basename "$JAR")"
+
+echo
+echo "Listo. Ejecutar con:"
+echo "  java -XX:SharedArchiveFile=$OUT/application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar $OUT/$(basename "$JAR")"
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# ============================================
+# Benchmark de tiempo hasta el primer request
+# ============================================
+# Arranca la aplicación N veces en cada modo y mide cuánto tarda en
+# responder el primer request HTTP (cualquier código de estado).
+#
+#   jar      -> jar normal
+#   aot-cds  -> Spring AOT + AppCDS (generado por build-fast-startup.sh)
+#
+# Uso: scripts/startup-benchmark.sh [repeticiones]
+# Requiere la BD accesible y las variables del perfil prod.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+URL="http://localhost:$PORT/api/actuator/health"
+OUT=target/fast-startup
+
+JAR=$(ls target/veterinaria-backend-*.jar | grep -v '\.original$' | head -n 1)
+FAST_JAR="$OUT/$(basename "$JAR")"
+
+run() {
+  local mode=$1; shift
+  local times=()
+  for ((i = 1; i <= RUNS; i++)); do
+    local start=$(date +%s%N)
+    java "$@" -Dspring.profiles.active=prod -Dserver.port="$PORT" > "target/startup-$mode.log" 2>&1 &
+    local pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" != "000" ]; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "La aplicación terminó durante el arranque (ver target/startup-$mode.log)" >&2
+        exit 1
+      fi
+      sleep 0.05
+    done
+    times+=($(( ($(date +%s%N) - start) / 1000000 )))
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+  done
+  local sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+  printf '%-8s mediana %6d ms   (%s)\n' "$mode" "${sorted[$((RUNS / 2))]}" "${times[*]}"
+}
+
+run jar -jar "$JAR"
+if [ -f "$OUT/application.jsa" ]; then
+  run aot-cds -XX:SharedArchiveFile="$OUT/application.jsa" -Dspring.aot.enabled=true -jar "$FAST_JAR"
+else
+  echo "Sin $OUT/application.jsa: ejecutar scripts/build-fast-startup.sh para comparar con AOT + CDS"
+fi
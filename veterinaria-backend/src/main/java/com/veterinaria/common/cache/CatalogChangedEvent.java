@@ -0,0 +1,12 @@
+package com.veterinaria.common.cache;
+
+/**
+ * Evento publicado cuando cambia la versión de un recurso de catálogo
+ *
+ * Lo escuchan las cachés que deben invalidar sus entradas del recurso.
+ *
+ * @param resource Recurso modificado
+ * @param version  Nueva versión del recurso
+ */
+public record CatalogChangedEvent(CatalogResource resource, long version) {
+}
@@ -0,0 +1,52 @@
+package com.veterinaria.common.cache;
+
+/**
+ * Recursos de catálogo con caché HTTP versionada
+ *
+ * Son datos que cambian poco (servicios, productos, roles, permisos,
+ * canales, plantillas y proveedores) pero que todas las pantallas
+ * consultan completos.
+ * Cada recurso se identifica por el prefijo de su ruta (sin context-path).
+ */
+public enum CatalogResource {
+
+    SERVICIOS("/servicios"),
+    PRODUCTOS("/productos"),
+    ROLES("/roles"),
+    PERMISOS("/permisos"),
+    CANALES_ENVIO("/canales-envio"),
+    PLANTILLAS_MENSAJE("/plantillas-mensaje"),
+    PROVEEDORES("/proveedores");
+
+    private static final CatalogResource[] VALUES = values();
+
+    private final String pathPrefix;
+
+    CatalogResource(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+
+    /**
+     * Busca el recurso de catálogo al que pertenece una ruta
+     *
+     * @param path Ruta del request sin el context-path (ej: /servicios/5)
+     * @return Recurso correspondiente o null si no es un catálogo
+     */
+    public static CatalogResource fromPath(String path) {
+        if (path == null) {
+            return null;
+        }
+        for (CatalogResource resource : VALUES) {
+            String prefix = resource.pathPrefix;
+            if (path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return resource;
+            }
+        }
+        return null;
+    }
+}
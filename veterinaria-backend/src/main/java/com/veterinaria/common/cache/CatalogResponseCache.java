@@ -0,0 +1,92 @@
+package com.veterinaria.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caché en servidor de respuestas de catálogo ya serializadas
+ *
+ * Guarda los bytes JSON exactos de cada GET exitoso, indexados por recurso,
+ * ruta + query y versión. Un acierto responde sin pasar por el controller
+ * ni por Jackson. Las entradas se invalidan cuando cambia la versión del
+ * recurso y, como respaldo, al superar el TTL configurado.
+ *
+ * Es una caché Caffeine acotada: al llegar a max-entries descarta las
+ * entradas menos útiles, y las vencidas se limpian solas aunque nadie
+ * las vuelva a pedir.
+ */
+@Component
+public class CatalogResponseCache {
+
+    private final Cache<String, CachedBody> entries;
+
+    public CatalogResponseCache(
+            @Value("${veterinaria.http-cache.server.max-entries:512}") long maxEntries,
+            @Value("${veterinaria.http-cache.server.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Busca una respuesta serializada vigente
+     *
+     * @param resource Recurso de catálogo
+     * @param key      Ruta + query string
+     * @param version  Versión actual del recurso
+     * @return Respuesta cacheada o null si no hay una vigente
+     */
+    public CachedBody get(CatalogResource resource, String key, long version) {
+        String cacheKey = cacheKey(resource, key);
+        CachedBody cached = entries.getIfPresent(cacheKey);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.version() != version) {
+            entries.asMap().remove(cacheKey, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Guarda una respuesta serializada (reemplaza la anterior de la misma clave)
+     */
+    public void put(CatalogResource resource, String key, long version, byte[] body, String contentType) {
+        entries.put(cacheKey(resource, key), new CachedBody(version, body, contentType));
+    }
+
+    /**
+     * Elimina todas las respuestas de un recurso cuando cambia su versión
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        String prefix = event.resource().name() + '|';
+        entries.asMap().keySet().removeIf(cacheKey -> cacheKey.startsWith(prefix));
+    }
+
+    /**
+     * Entradas vigentes (aproximado, para métricas y pruebas)
+     */
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private String cacheKey(CatalogResource resource, String key) {
+        return resource.name() + '|' + key;
+    }
+
+    /**
+     * Respuesta serializada junto con la versión que la generó
+     */
+    public record CachedBody(long version, byte[] body, String contentType) {
+    }
+}
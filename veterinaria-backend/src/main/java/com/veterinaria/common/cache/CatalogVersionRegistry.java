@@ -0,0 +1,167 @@
+package com.veterinaria.common.cache;
+
+import com.veterinaria.config.RolePermissionsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de versión por recurso de catálogo
+ *
+ * Responsabilidades:
+ * 1. Llevar una versión en memoria por recurso (sin consultar la BD)
+ * 2. Incrementarla en cada escritura, atada al commit de la transacción
+ * 3. Generar ETags fuertes a partir de la versión
+ *
+ * Las versiones viven en memoria de cada instancia: el "epoch" de arranque
+ * forma parte del ETag para que dos arranques nunca generen el mismo valor.
+ * Los servicios que modifiquen un catálogo fuera de su endpoint REST
+ * (ej: movimientos de inventario sobre productos) deben llamar a
+ * markWritten() dentro de su transacción.
+ */
+@Component
+public class CatalogVersionRegistry {
+
+    private final Map<CatalogResource, AtomicLong> versions = new EnumMap<>(CatalogResource.class);
+
+    // Escrituras entre el inicio del commit y su fin: mientras tanto no se cachea ni se valida ETag
+    private final Map<CatalogResource, AtomicInteger> committing = new EnumMap<>(CatalogResource.class);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // Conjunto de authorities -> número corto para el ETag (hay pocos: uno por combinación de roles)
+    private final Map<String, Integer> authorityGroups = new ConcurrentHashMap<>();
+    private final AtomicInteger nextAuthorityGroup = new AtomicInteger();
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public CatalogVersionRegistry() {
+        for (CatalogResource resource : CatalogResource.values()) {
+            versions.put(resource, new AtomicLong());
+            committing.put(resource, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Obtiene la versión actual de un recurso
+     *
+     * @param resource Recurso de catálogo
+     * @return Versión actual
+     */
+    public long currentVersion(CatalogResource resource) {
+        return versions.get(resource).get();
+    }
+
+    /**
+     * Indica si hay una escritura del recurso confirmándose en este momento
+     *
+     * En ese lapso un GET puede leer datos viejos o nuevos: su respuesta no
+     * se cachea ni lleva ETag.
+     */
+    public boolean isCommitting(CatalogResource resource) {
+        return committing.get(resource).get() > 0;
+    }
+
+    /**
+     * Registra una escritura del recurso en la transacción actual
+     *
+     * La versión se incrementa antes del commit (ningún GET posterior
+     * recibe 304 con la versión anterior) y de nuevo después (descarta lo
+     * que un GET concurrente haya cacheado leyendo datos aún sin confirmar).
+     * Entre ambos, isCommitting() es true. Sin transacción activa, se
+     * incrementa de inmediato.
+     *
+     * @param resource Recurso modificado
+     */
+    public void markWritten(CatalogResource resource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(resource);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean started;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                started = true;
+                committing.get(resource).incrementAndGet();
+                bump(resource);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!started) {
+                    return;
+                }
+                if (status == STATUS_COMMITTED) {
+                    bump(resource);
+                }
+                committing.get(resource).decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Escrituras publicadas como evento por servicios que no dependen del registro
+     */
+    @EventListener
+    public void onCatalogWrite(CatalogWriteEvent event) {
+        markWritten(event.resource());
+    }
+
+    /**
+     * Incrementa la versión de un recurso de inmediato
+     *
+     * Para cambios que no pasan por una transacción (ej: restaurar un
+     * backup); las escrituras normales usan markWritten().
+     *
+     * @param resource Recurso modificado
+     * @return Nueva versión
+     */
+    public long bump(CatalogResource resource) {
+        long version = versions.get(resource).incrementAndGet();
+        eventPublisher.publishEvent(new CatalogChangedEvent(resource, version));
+        return version;
+    }
+
+    /**
+     * Invalida todas las representaciones cuando cambian los permisos
+     *
+     * Las respuestas cacheadas se reutilizan por conjunto de authorities;
+     * si un rol pierde un permiso, ese conjunto ya no debe recibirlas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        for (CatalogResource resource : CatalogResource.values()) {
+            bump(resource);
+        }
+    }
+
+    /**
+     * Genera un ETag fuerte para una representación de un recurso
+     *
+     * El ETag se compara siempre contra la misma URL, así que no incluye la
+     * ruta: basta recurso + arranque + versión, más el grupo de authorities
+     * porque la representación depende de los permisos de quien la pide.
+     *
+     * @param resource     Recurso de catálogo
+     * @param version      Versión del recurso
+     * @param authorityKey Authorities ordenadas de quien pide (o "anonymous")
+     * @return ETag entre comillas (ej: "servicios-lq2x1-3-g2")
+     */
+    public String etag(CatalogResource resource, long version, String authorityKey) {
+        int group = authorityGroups.computeIfAbsent(authorityKey, key -> nextAuthorityGroup.incrementAndGet());
+        return '"' + resource.name().toLowerCase() + '-' + epoch + '-' + version + "-g" + group + '"';
+    }
+}
@@ -0,0 +1,14 @@
+package com.veterinaria.common.cache;
+
+/**
+ * Evento que indica que una transacción modificó un recurso de catálogo
+ *
+ * Se publica dentro de la transacción de la escritura; equivale a llamar
+ * a CatalogVersionRegistry.markWritten: la versión se incrementa antes del
+ * commit y otra vez después, de modo que ningún GET puede responder 304 ni
+ * servir de caché la versión anterior una vez confirmada la escritura.
+ *
+ * @param resource Recurso modificado
+ */
+public record CatalogWriteEvent(CatalogResource resource) {
+}
@@ -0,0 +1,81 @@
+package com.veterinaria.common.cache;
+
+import com.veterinaria.common.constants.CacheRegions;
+import com.veterinaria.config.RolePermissionsChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalidación explícita de la caché de segundo nivel
+ *
+ * Hibernate mantiene la caché al día cuando las escrituras pasan por
+ * entidades. Este componente cubre el resto: actualizaciones masivas,
+ * SQL nativo y las consultas cacheadas de las tablas de referencia.
+ *
+ * Se ejecuta después del commit:
+ * - CatalogChangedEvent: escrituras en endpoints de catálogo
+ * - RolePermissionsChangedEvent: cambios en roles/permisos
+ */
+@Slf4j
+@Component
+public class ReferenceCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        String region = regionOf(event.resource());
+        if (region != null) {
+            evict(region);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        evict(CacheRegions.ROLES);
+        evict(CacheRegions.PERMISOS);
+    }
+
+    /**
+     * Vacía una región y las consultas cacheadas que podrían referenciarla
+     *
+     * @param region Nombre de la región (ver CacheRegions)
+     */
+    public void evict(String region) {
+        CacheImplementor cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        // La región solo existe si alguna entidad la declara con @Cache
+        if (cache.getRegion(region) != null) {
+            cache.evictRegion(region);
+        }
+        cache.evictDefaultQueryRegion();
+        log.debug("Región de caché invalidada: {}", region);
+    }
+
+    /**
+     * Vacía todas las regiones de referencia (ej: tras restaurar un backup)
+     */
+    public void evictAll() {
+        for (String region : CacheRegions.REFERENCE_REGIONS) {
+            evict(region);
+        }
+    }
+
+    private String regionOf(CatalogResource resource) {
+        return switch (resource) {
+            case SERVICIOS -> CacheRegions.SERVICIOS;
+            case ROLES -> CacheRegions.ROLES;
+            case PERMISOS -> CacheRegions.PERMISOS;
+            case CANALES_ENVIO -> CacheRegions.CANALES_ENVIO;
+            case PLANTILLAS_MENSAJE -> CacheRegions.PLANTILLAS_MENSAJE;
+            case PROVEEDORES -> CacheRegions.PROVEEDORES;
+            // Productos cambian con cada movimiento de inventario: sin caché L2
+            case PRODUCTOS -> null;
+        };
+    }
+}
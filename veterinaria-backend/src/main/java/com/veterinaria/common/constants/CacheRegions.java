@@ -0,0 +1,35 @@
+package com.veterinaria.common.constants;
+
+/**
+ * Regiones de la caché de segundo nivel de Hibernate
+ *
+ * Solo para tablas de referencia (muchas lecturas, pocas escrituras).
+ * Uso en entidades:
+ *   @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLES)
+ * Uso en consultas (query cache):
+ *   @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+ *
+ * El tamaño y TTL de cada región se configuran en application.conf.
+ */
+public class CacheRegions {
+
+    public static final String ROLES = "roles";
+    public static final String PERMISOS = "permisos";
+    public static final String SERVICIOS = "servicios";
+    public static final String CANALES_ENVIO = "canales-envio";
+    public static final String PLANTILLAS_MENSAJE = "plantillas-mensaje";
+    public static final String PROVEEDORES = "proveedores";
+
+    public static final String[] REFERENCE_REGIONS = {
+            ROLES,
+            PERMISOS,
+            SERVICIOS,
+            CANALES_ENVIO,
+            PLANTILLAS_MENSAJE,
+            PROVEEDORES
+    };
+
+    private CacheRegions() {
+        // Prevenir instanciación
+    }
+}
@@ -8,10 +8,14 @@ public class SecurityConstants {
     public static final String JWT_TOKEN_PREFIX = "Bearer ";
     public static final String JWT_HEADER_STRING = "Authorization";
 
-    // Endpoints públicos (sin autenticación)
+    // Prefijo (sin context-path) de los endpoints de autenticación
+    public static final String AUTH_PATH_PREFIX = "/auth/";
+
+    // Endpoints públicos (sin autenticación). Sin context-path: los matchers
+    // de Spring Security comparan la ruta dentro de la aplicación
     public static final String[] PUBLIC_URLS = {
-            "/api/auth/**",
-            "/api/public/**",
+            "/auth/**",
+            "/public/**",
             "/swagger-ui/**",
             "/v3/api-docs/**",
             "/swagger-resources/**",
@@ -1,6 +1,7 @@
 package com.veterinaria.common.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.veterinaria.common.exception.ErrorCode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,6 +22,7 @@ public class ErrorResponse {
     private String error;
     private String message;
     private String path;
+    private String code;
     private Map<String, String> validationErrors;
 
     public ErrorResponse(int status, String error, String message, String path) {
@@ -30,4 +32,22 @@ public class ErrorResponse {
         this.message = message;
         this.path = path;
     }
+
+    /**
+     * Respuesta a partir de la plantilla del código
+     *
+     * @param errorCode Plantilla (estado, título y mensaje por defecto)
+     * @param message   Mensaje (null = el de la plantilla)
+     * @param path      URI del request
+     */
+    public static ErrorResponse of(ErrorCode errorCode, String message, String path) {
+        ErrorResponse response = new ErrorResponse(
+                errorCode.getStatus().value(),
+                errorCode.getError(),
+                message != null ? message : errorCode.getDefaultMessage(),
+                path
+        );
+        response.code = errorCode.name();
+        return response;
+    }
 }
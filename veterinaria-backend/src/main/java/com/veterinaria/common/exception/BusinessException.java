@@ -1,23 +1,29 @@
 package com.veterinaria.common.exception;
 
+/**
+ * Regla de negocio incumplida (400)
+ *
+ * Es un resultado esperado, no un fallo: no captura stack trace. El origen
+ * se identifica por el errorCode (ej: "BACKUP_EN_PROCESO").
+ */
 public class BusinessException extends RuntimeException {
 
     private String errorCode;
 
     public BusinessException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public BusinessException(String message, String errorCode) {
-        super(message);
+        super(message, null, false, false);
         this.errorCode = errorCode;
     }
 
     public BusinessException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 
     public String getErrorCode() {
         return errorCode;
     }
-}
\ No newline at end of file
+}
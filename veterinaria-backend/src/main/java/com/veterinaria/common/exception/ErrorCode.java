@@ -0,0 +1,45 @@
+package com.veterinaria.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Códigos de error de la API
+ *
+ * Cada código es la plantilla de su ErrorResponse: estado HTTP, título y,
+ * para los de mensaje fijo, el mensaje. Armar la respuesta no requiere
+ * formatear texto.
+ */
+public enum ErrorCode {
+
+    NOT_FOUND(HttpStatus.NOT_FOUND, "Not Found", null),
+    BUSINESS_ERROR(HttpStatus.BAD_REQUEST, "Business Error", null),
+    VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "Validation Error", null),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "Validation Failed", "Error en la validación de datos"),
+    UNAUTHORIZED(HttpStatus.UNAUTHORIZED, "Unauthorized", null),
+    BAD_CREDENTIALS(HttpStatus.UNAUTHORIZED, "Unauthorized", "Usuario o contraseña incorrectos"),
+    ACCESS_DENIED(HttpStatus.FORBIDDEN, "Forbidden", "No tiene permisos para acceder a este recurso"),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "Ha ocurrido un error interno en el servidor");
+
+    private final HttpStatus status;
+    private final String error;
+    private final String defaultMessage;
+
+    ErrorCode(HttpStatus status, String error, String defaultMessage) {
+        this.status = status;
+        this.error = error;
+        this.defaultMessage = defaultMessage;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getDefaultMessage() {
+        return defaultMessage;
+    }
+}
@@ -2,10 +2,13 @@ package com.veterinaria.common.exception;
 
 import com.veterinaria.common.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,22 +17,26 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Traduce excepciones a ErrorResponse
+ *
+ * Los errores esperados (negocio, 404, validación) no llevan stack trace
+ * y su respuesta se arma desde la plantilla de su ErrorCode. Solo los
+ * errores no controlados se loguean, con muestreo (UnexpectedErrorLogger).
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Autowired
+    private UnexpectedErrorLogger unexpectedErrorLogger;
+
     // Resource Not Found (404)
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
             ResourceNotFoundException ex,
             HttpServletRequest request
     ) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
-                ex.getMessage(),
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return respond(ErrorCode.NOT_FOUND, ex.getMessage(), request);
     }
 
     // Business Exception (400)
@@ -38,13 +45,11 @@ public class GlobalExceptionHandler {
             BusinessException ex,
             HttpServletRequest request
     ) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                "Business Error",
-                ex.getMessage(),
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        ErrorResponse error = ErrorResponse.of(ErrorCode.BUSINESS_ERROR, ex.getMessage(), request.getRequestURI());
+        if (ex.getErrorCode() != null) {
+            error.setCode(ex.getErrorCode());
+        }
+        return ResponseEntity.status(ErrorCode.BUSINESS_ERROR.getStatus()).body(error);
     }
 
     // Unauthorized (401)
@@ -53,28 +58,27 @@ public class GlobalExceptionHandler {
             UnauthorizedException ex,
             HttpServletRequest request
     ) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.UNAUTHORIZED.value(),
-                "Unauthorized",
-                ex.getMessage(),
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        return respond(ErrorCode.UNAUTHORIZED, ex.getMessage(), request);
     }
 
-    // Bad Credentials (401)
-    @ExceptionHandler(BadCredentialsException.class)
+    // Bad Credentials (401); cuenta inactiva responde igual para no revelar su estado
+    @ExceptionHandler({BadCredentialsException.class, DisabledException.class})
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(
-            BadCredentialsException ex,
+            AuthenticationException ex,
             HttpServletRequest request
     ) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.UNAUTHORIZED.value(),
-                "Unauthorized",
-                "Usuario o contraseña incorrectos",
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        return respond(ErrorCode.BAD_CREDENTIALS, null, request);
+    }
+
+    // Too Many Requests (429)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(
+            TooManyRequestsException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(ErrorCode.TOO_MANY_REQUESTS.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ErrorResponse.of(ErrorCode.TOO_MANY_REQUESTS, ex.getMessage(), request.getRequestURI()));
     }
 
     // Access Denied (403)
@@ -83,13 +87,7 @@ public class GlobalExceptionHandler {
             AccessDeniedException ex,
             HttpServletRequest request
     ) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.FORBIDDEN.value(),
-                "Forbidden",
-                "No tiene permisos para acceder a este recurso",
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        return respond(ErrorCode.ACCESS_DENIED, null, request);
     }
 
     // Validation Errors (400)
@@ -106,16 +104,9 @@ public class GlobalExceptionHandler {
             validationErrors.put(fieldName, errorMessage);
         });
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(java.time.LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Validation Failed")
-                .message("Error en la validación de datos")
-                .path(request.getRequestURI())
-                .validationErrors(validationErrors)
-                .build();
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        ErrorResponse error = ErrorResponse.of(ErrorCode.VALIDATION_FAILED, null, request.getRequestURI());
+        error.setValidationErrors(validationErrors);
+        return ResponseEntity.status(ErrorCode.VALIDATION_FAILED.getStatus()).body(error);
     }
 
     // Validation Exception Custom (400)
@@ -124,16 +115,9 @@ public class GlobalExceptionHandler {
             ValidationException ex,
             HttpServletRequest request
     ) {
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(java.time.LocalDateTime.now())
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error("Validation Error")
-                .message(ex.getMessage())
-                .path(request.getRequestURI())
-                .validationErrors(ex.getErrors())
-                .build();
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        ErrorResponse error = ErrorResponse.of(ErrorCode.VALIDATION_ERROR, ex.getMessage(), request.getRequestURI());
+        error.setValidationErrors(ex.getErrors());
+        return ResponseEntity.status(ErrorCode.VALIDATION_ERROR.getStatus()).body(error);
     }
 
     // Generic Exception (500)
@@ -142,16 +126,14 @@ public class GlobalExceptionHandler {
             Exception ex,
             HttpServletRequest request
     ) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Internal Server Error",
-                "Ha ocurrido un error interno en el servidor",
-                request.getRequestURI()
-        );
+        // Log muestreado: no bloquea el request con un stack trace por error
+        unexpectedErrorLogger.log(ex, request);
 
-        // Log del error completo (en producción)
-        ex.printStackTrace();
+        return respond(ErrorCode.INTERNAL_ERROR, null, request);
+    }
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    private ResponseEntity<ErrorResponse> respond(ErrorCode errorCode, String message, HttpServletRequest request) {
+        return ResponseEntity.status(errorCode.getStatus())
+                .body(ErrorResponse.of(errorCode, message, request.getRequestURI()));
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,10 @@
 package com.veterinaria.common.exception;
 
+/**
+ * Recurso inexistente (404)
+ *
+ * Sin stack trace, y el mensaje se arma solo si alguien lo lee.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
     private String resourceName;
@@ -7,14 +12,23 @@ public class ResourceNotFoundException extends RuntimeException {
     private Object fieldValue;
 
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s no encontrado con %s : '%s'", resourceName, fieldName, fieldValue));
+        super(null, null, false, false);
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
     }
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+    }
+
+    @Override
+    public String getMessage() {
+        String message = super.getMessage();
+        if (message == null && resourceName != null) {
+            return resourceName + " no encontrado con " + fieldName + " : '" + fieldValue + "'";
+        }
+        return message;
     }
 
     // Getters
@@ -29,4 +43,4 @@ public class ResourceNotFoundException extends RuntimeException {
     public Object getFieldValue() {
         return fieldValue;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.veterinaria.common.exception;
+
+/**
+ * Límite de intentos superado (429); retryAfterSeconds va en Retry-After
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,12 +1,15 @@
 package com.veterinaria.common.exception;
 
+/**
+ * Token o credenciales inválidos (401)
+ */
 public class UnauthorizedException extends RuntimeException {
 
     public UnauthorizedException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public UnauthorizedException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.veterinaria.common.exception;
+
+import com.veterinaria.common.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log de errores no controlados (500) con límite por tipo de error
+ *
+ * Responsabilidades:
+ * 1. Contar todos los errores en la métrica http.server.errors.unexpected
+ * 2. Loguear con stack trace solo las primeras ocurrencias de cada firma
+ *    (clase + primer frame de la aplicación), con recarga por token bucket
+ * 3. Del resto, loguear una línea sin stack cada sampleEvery ocurrencias
+ *    (una por ocurrencia si ya hay demasiadas firmas para contarlas)
+ *
+ * Una falla que se repite miles de veces (BD caída) no satura el log ni
+ * bloquea los hilos de request escribiendo stack traces.
+ */
+@Slf4j
+@Component
+public class UnexpectedErrorLogger {
+
+    private static final String METRIC = "http.server.errors.unexpected";
+    private static final int MAX_TRACKED_SIGNATURES = 1024;
+    private static final String APPLICATION_PACKAGE = "com.veterinaria.";
+
+    private final TokenBucketLimiter limiter;
+    private final Counter errors;
+    private final long sampleEvery;
+    private final Map<String, AtomicLong> suppressed = new ConcurrentHashMap<>();
+
+    public UnexpectedErrorLogger(
+            @Value("${veterinaria.errors.log.capacity:5}") double capacity,
+            @Value("${veterinaria.errors.log.refill-per-minute:6}") double refillPerMinute,
+            @Value("${veterinaria.errors.log.sample-every:100}") long sampleEvery,
+            MeterRegistry meterRegistry
+    ) {
+        this.limiter = new TokenBucketLimiter(16, capacity, refillPerMinute / 60d, 64);
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.errors = Counter.builder(METRIC)
+                .description("Errores no controlados (500)")
+                .register(meterRegistry);
+    }
+
+    public void log(Throwable ex, HttpServletRequest request) {
+        errors.increment();
+
+        String signature = signature(ex);
+        if (limiter.tryAcquire(signature) == 0) {
+            AtomicLong skipped = suppressed.remove(signature);
+            log.error("Error no controlado en {} {} ({} similares omitidos desde el último log)",
+                    request.getMethod(), request.getRequestURI(), skipped == null ? 0 : skipped.get(), ex);
+            return;
+        }
+
+        AtomicLong skipped = suppressed.get(signature);
+        if (skipped == null && suppressed.size() < MAX_TRACKED_SIGNATURES) {
+            skipped = suppressed.computeIfAbsent(signature, key -> new AtomicLong());
+        }
+        if (skipped == null) {
+            // Sin contador para esta firma: no se puede muestrear, pero nunca se calla
+            log.warn("Error repetido en {} {}: {} ({})",
+                    request.getMethod(), request.getRequestURI(), signature, ex.toString());
+            return;
+        }
+        long count = skipped.incrementAndGet();
+        if (count % sampleEvery == 0) {
+            log.warn("Error repetido en {} {}: {} ({} ocurrencias sin stack trace)",
+                    request.getMethod(), request.getRequestURI(), signature, count);
+        }
+    }
+
+    /**
+     * Clase de la excepción + primer frame de la aplicación
+     *
+     * El frame superior suele ser del driver o de Spring y es el mismo para
+     * fallas de distinto origen; se busca el primero de com.veterinaria en la
+     * excepción y sus causas. Sin frames propios, se usa el superior.
+     */
+    static String signature(Throwable ex) {
+        for (Throwable current = ex; current != null; current = current.getCause()) {
+            for (StackTraceElement frame : current.getStackTrace()) {
+                if (frame.getClassName().startsWith(APPLICATION_PACKAGE)) {
+                    return ex.getClass().getName() + " @ " + frame;
+                }
+            }
+        }
+        StackTraceElement[] stack = ex.getStackTrace();
+        return stack.length == 0
+                ? ex.getClass().getName()
+                : ex.getClass().getName() + " @ " + stack[0];
+    }
+}
@@ -2,16 +2,19 @@ package com.veterinaria.common.exception;
 
 import java.util.Map;
 
+/**
+ * Datos de entrada inválidos (400); el detalle por campo va en errors
+ */
 public class ValidationException extends RuntimeException {
 
     private Map<String, String> errors;
 
     public ValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ValidationException(String message, Map<String, String> errors) {
-        super(message);
+        super(message, null, false, false);
         this.errors = errors;
     }
 
@@ -0,0 +1,90 @@
+package com.veterinaria.common.projection;
+
+import com.veterinaria.common.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Campos pedidos con ?fields= ya validados contra un ProjectionSpec
+ *
+ * Ejemplo: GET /productos?fields=nombre,stock,precioUnitario
+ */
+public final class FieldSelection {
+
+    private final ProjectionSpec spec;
+    private final List<String> fields;
+
+    private FieldSelection(ProjectionSpec spec, List<String> fields) {
+        this.spec = spec;
+        this.fields = fields;
+    }
+
+    /**
+     * Interpreta el parámetro fields
+     *
+     * @param fields Lista separada por comas (null o vacío = campos por defecto)
+     * @param spec   Lista blanca del recurso
+     * @return Selección validada, con el id siempre al inicio
+     * @throws ValidationException si algún campo no está permitido
+     */
+    public static FieldSelection parse(String fields, ProjectionSpec spec) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(spec.getIdField());
+
+        if (fields == null || fields.isBlank()) {
+            selected.addAll(spec.getDefaultFields());
+            return new FieldSelection(spec, new ArrayList<>(selected));
+        }
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (String raw : fields.split(",")) {
+            String field = raw.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!spec.getColumns().containsKey(field)) {
+                errors.put(field, "Campo no permitido para " + spec.getResource());
+                continue;
+            }
+            selected.add(field);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException(
+                    "Campos inválidos en 'fields'. Permitidos: " + String.join(",", spec.getColumns().keySet()),
+                    errors
+            );
+        }
+        return new FieldSelection(spec, new ArrayList<>(selected));
+    }
+
+    public ProjectionSpec getSpec() {
+        return spec;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Genera la lista de columnas del SELECT (ej: "id_producto AS id, nombre AS nombre")
+     *
+     * Los alias son los nombres de la API entre comillas para conservar el camelCase.
+     */
+    public String toSelectClause() {
+        StringBuilder select = new StringBuilder();
+        for (String field : fields) {
+            if (select.length() > 0) {
+                select.append(", ");
+            }
+            select.append(spec.getColumns().get(field).expression())
+                    .append(" AS \"").append(field).append('"');
+        }
+        return select.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.veterinaria.common.projection;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.veterinaria.common.dto.PageResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ejecuta listados paginados seleccionando solo las columnas pedidas
+ *
+ * Responsabilidades:
+ * 1. Armar el SELECT con las columnas de la FieldSelection
+ * 2. Paginar con LIMIT/OFFSET y contar el total
+ * 3. Devolver filas como mapas ordenados (Jackson serializa solo esas claves)
+ *
+ * Las columnas JSONB se leen como texto y se embeben con RawValue, sin
+ * parsearlas a árbol ni volver a serializarlas.
+ */
+@Component
+public class ProjectionQueryExecutor {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Lista una página del recurso
+     *
+     * @param selection Campos validados
+     * @param where     Condición SQL con parámetros nombrados (null = sin filtro).
+     *                  Debe venir del código del módulo, nunca del request.
+     * @param params    Valores de los parámetros nombrados
+     * @param orderBy   Columnas de orden (SQL, definido por el módulo)
+     * @param page      Página (desde 0)
+     * @param size      Tamaño de página
+     * @return Página con las filas proyectadas
+     */
+    public PageResponse<Map<String, Object>> findPage(
+            FieldSelection selection,
+            String where,
+            Map<String, ?> params,
+            String orderBy,
+            int page,
+            int size
+    ) {
+        ProjectionSpec spec = selection.getSpec();
+        String from = " FROM " + spec.getTable() + (where == null ? "" : " WHERE " + where);
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource(params)
+                .addValue("limit", size)
+                .addValue("offset", (long) page * size);
+
+        List<Map<String, Object>> content = jdbcTemplate.query(
+                "SELECT " + selection.toSelectClause() + from
+                        + " ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset",
+                parameters,
+                rowMapper(selection)
+        );
+
+        // Evitar el COUNT cuando la página no se llenó: ya se conoce el total
+        long total = content.size() < size && (page == 0 || !content.isEmpty())
+                ? (long) page * size + content.size()
+                : jdbcTemplate.queryForObject("SELECT count(*)" + from, parameters, Long.class);
+
+        return PageResponse.of(content, page, size, total);
+    }
+
+    private RowMapper<Map<String, Object>> rowMapper(FieldSelection selection) {
+        List<String> fields = selection.getFields();
+        ProjectionSpec.ColumnType[] types = new ProjectionSpec.ColumnType[fields.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = selection.getSpec().getColumns().get(fields.get(i)).type();
+        }
+
+        return (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>(types.length * 2);
+            for (int i = 0; i < types.length; i++) {
+                int column = i + 1;
+                Object value = switch (types[i]) {
+                    case TIMESTAMP -> rs.getObject(column, OffsetDateTime.class);
+                    case JSON -> {
+                        String json = rs.getString(column);
+                        yield json == null ? null : new RawValue(json);
+                    }
+                    default -> rs.getObject(column);
+                };
+                row.put(fields.get(i), value);
+            }
+            return row;
+        };
+    }
+}
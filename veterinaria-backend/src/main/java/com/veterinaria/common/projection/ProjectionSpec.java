@@ -0,0 +1,133 @@
+package com.veterinaria.common.projection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lista blanca de campos proyectables de un recurso
+ *
+ * Asocia cada campo expuesto en la API con su columna SQL. Solo los campos
+ * registrados aquí pueden pedirse con ?fields=. El campo identificador se
+ * incluye siempre para que el cliente pueda enlazar filas.
+ *
+ * Ejemplo:
+ * ProjectionSpec.builder("productos", "productos")
+ *         .id("id", "id_producto")
+ *         .field("nombre", "nombre")
+ *         .json("metadatos", "metadatos")
+ *         .defaults("nombre")
+ *         .build();
+ */
+public final class ProjectionSpec {
+
+    private final String resource;
+    private final String table;
+    private final String idField;
+    private final Map<String, Column> columns;
+    private final List<String> defaultFields;
+
+    private ProjectionSpec(Builder builder) {
+        this.resource = builder.resource;
+        this.table = builder.table;
+        this.idField = builder.idField;
+        this.columns = Collections.unmodifiableMap(new LinkedHashMap<>(builder.columns));
+        this.defaultFields = List.copyOf(builder.defaultFields);
+    }
+
+    public static Builder builder(String resource, String table) {
+        return new Builder(resource, table);
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getIdField() {
+        return idField;
+    }
+
+    public Map<String, Column> getColumns() {
+        return columns;
+    }
+
+    public List<String> getDefaultFields() {
+        return defaultFields;
+    }
+
+    /**
+     * Tipo de lectura de la columna
+     */
+    public enum ColumnType {
+        DEFAULT,   // rs.getObject()
+        TIMESTAMP, // OffsetDateTime
+        JSON       // JSONB leído como texto y embebido sin re-serializar
+    }
+
+    /**
+     * Columna SQL de un campo
+     */
+    public record Column(String expression, ColumnType type) {
+    }
+
+    public static final class Builder {
+
+        private final String resource;
+        private final String table;
+        private String idField;
+        private final Map<String, Column> columns = new LinkedHashMap<>();
+        private final List<String> defaultFields = new ArrayList<>();
+
+        private Builder(String resource, String table) {
+            this.resource = resource;
+            this.table = table;
+        }
+
+        public Builder id(String field, String column) {
+            this.idField = field;
+            columns.put(field, new Column(column, ColumnType.DEFAULT));
+            return this;
+        }
+
+        public Builder field(String field, String column) {
+            columns.put(field, new Column(column, ColumnType.DEFAULT));
+            return this;
+        }
+
+        public Builder timestamp(String field, String column) {
+            columns.put(field, new Column(column, ColumnType.TIMESTAMP));
+            return this;
+        }
+
+        public Builder json(String field, String column) {
+            columns.put(field, new Column(column + "::text", ColumnType.JSON));
+            return this;
+        }
+
+        /**
+         * Campos devueltos cuando el request no envía ?fields=
+         */
+        public Builder defaults(String... fields) {
+            defaultFields.addAll(List.of(fields));
+            return this;
+        }
+
+        public ProjectionSpec build() {
+            if (idField == null) {
+                throw new IllegalStateException("La proyección " + resource + " requiere un campo id");
+            }
+            for (String field : defaultFields) {
+                if (!columns.containsKey(field)) {
+                    throw new IllegalStateException("Campo por defecto desconocido en " + resource + ": " + field);
+                }
+            }
+            return new ProjectionSpec(this);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.veterinaria.common.sql;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra sentencias lentas en logs_sistema
+ *
+ * Escribe en segundo plano y con el DataSource sin proxy: el INSERT no
+ * suma tiempo al request ni se vuelve a perfilar. Si la cola se llena
+ * (la BD ya está lenta) los registros se descartan.
+ */
+@Slf4j
+public class SlowQueryLogger {
+
+    private static final String SQL_INSERT =
+            "INSERT INTO logs_sistema (nivel, componente, mensaje, metadata) VALUES ('WARN', 'SQL', ?, ?::jsonb)";
+    private static final int MAX_MESSAGE_LENGTH = 4000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public SlowQueryLogger(DataSource targetDataSource, int queueCapacity) {
+        this.jdbcTemplate = new JdbcTemplate(targetDataSource);
+        this.executor = new ThreadPoolExecutor(
+                1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-logger");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * @param shape     Sentencia sin literales (ver SqlShape)
+     * @param elapsedMs Duración
+     * @param request   Request que la ejecutó (ej: "GET /api/productos")
+     */
+    public void log(String shape, long elapsedMs, String request) {
+        log.warn("Sentencia lenta ({} ms) en {}: {}", elapsedMs, request, shape);
+        try {
+            executor.execute(() -> insert(shape, elapsedMs, request));
+        } catch (RejectedExecutionException ex) {
+            log.debug("Cola de sentencias lentas llena, se descarta el registro");
+        }
+    }
+
+    private void insert(String shape, long elapsedMs, String request) {
+        try {
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("duracionMs", elapsedMs);
+            metadata.put("request", request);
+            String message = shape.length() > MAX_MESSAGE_LENGTH ? shape.substring(0, MAX_MESSAGE_LENGTH) : shape;
+            jdbcTemplate.update(SQL_INSERT, message, MAPPER.writeValueAsString(metadata));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.debug("No se pudo registrar la sentencia lenta en logs_sistema: {}", ex.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
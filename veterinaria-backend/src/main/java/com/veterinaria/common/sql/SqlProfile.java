@@ -0,0 +1,92 @@
+package com.veterinaria.common.sql;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sentencias SQL ejecutadas dentro de un alcance (un request, un test)
+ *
+ * Solo la usa el hilo que la abrió, por eso no tiene sincronización.
+ * Los alcances se anidan: lo que se registra en uno también cuenta en
+ * sus padres (un test que envuelve un request ve las sentencias del request).
+ */
+public final class SqlProfile {
+
+    /**
+     * Repeticiones de una misma forma a partir de las cuales se reporta un
+     * posible N+1 (runtime y tests usan el mismo valor)
+     */
+    public static final int DEFAULT_N_PLUS_ONE_THRESHOLD = 5;
+
+    private final String label;
+    private final SqlProfile parent;
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+
+    private int statementCount;
+    private long totalNanos;
+    private long statementStartNanos;
+
+    SqlProfile(String label, SqlProfile parent) {
+        this.label = label;
+        this.parent = parent;
+    }
+
+    void statementStarted() {
+        statementStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Registra una sentencia terminada en este alcance y en sus padres
+     *
+     * @return Duración de la sentencia en nanosegundos
+     */
+    long statementFinished(String shape) {
+        long elapsed = System.nanoTime() - statementStartNanos;
+        for (SqlProfile profile = this; profile != null; profile = profile.parent) {
+            profile.statementCount++;
+            profile.totalNanos += elapsed;
+            profile.shapeCounts.merge(shape, 1, Integer::sum);
+        }
+        return elapsed;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    SqlProfile getParent() {
+        return parent;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    public Map<String, Integer> getShapeCounts() {
+        return Collections.unmodifiableMap(shapeCounts);
+    }
+
+    /**
+     * Formas ejecutadas al menos {@code threshold} veces (candidatas a N+1)
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapeCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return label + ": " + statementCount + " sentencias, " + getTotalMillis() + " ms";
+    }
+}
@@ -0,0 +1,45 @@
+package com.veterinaria.common.sql;
+
+/**
+ * Alcance de perfilado SQL del hilo actual
+ *
+ * Uso:
+ * <pre>
+ * SqlProfile profile = SqlProfiler.start("GET /api/productos");
+ * try {
+ *     ...
+ * } finally {
+ *     SqlProfiler.stop(profile);
+ * }
+ * </pre>
+ *
+ * Fuera de un alcance las sentencias no se cuentan.
+ */
+public final class SqlProfiler {
+
+    private static final ThreadLocal<SqlProfile> CURRENT = new ThreadLocal<>();
+
+    private SqlProfiler() {
+    }
+
+    public static SqlProfile start(String label) {
+        SqlProfile profile = new SqlProfile(label, CURRENT.get());
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    public static void stop(SqlProfile profile) {
+        if (profile.getParent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(profile.getParent());
+        }
+    }
+
+    /**
+     * Alcance activo en el hilo actual (null si no hay)
+     */
+    public static SqlProfile current() {
+        return CURRENT.get();
+    }
+}
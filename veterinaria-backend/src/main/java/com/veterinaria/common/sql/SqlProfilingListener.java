@@ -0,0 +1,87 @@
+package com.veterinaria.common.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener de datasource-proxy que alimenta el SqlProfile del hilo
+ *
+ * Responsabilidades:
+ * 1. Medir cada sentencia ejecutada dentro de un alcance
+ * 2. Agruparla por forma (SqlShape) para detectar N+1
+ * 3. Enviar las sentencias lentas al SlowQueryLogger
+ *
+ * Sin alcance activo (arranque, Flyway, jobs) no hace nada.
+ */
+@Slf4j
+public class SqlProfilingListener implements QueryExecutionListener {
+
+    // El SQL preparado se repite: se normaliza una sola vez
+    private static final int MAX_CACHED_SHAPES = 2048;
+
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final long slowQueryNanos;
+    private final SlowQueryLogger slowQueryLogger;
+
+    public SqlProfilingListener(long slowQueryMillis, SlowQueryLogger slowQueryLogger) {
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+        this.slowQueryLogger = slowQueryLogger;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlProfile profile = SqlProfiler.current();
+        if (profile != null) {
+            profile.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlProfile profile = SqlProfiler.current();
+        if (profile == null) {
+            return;
+        }
+
+        String shape = shapeOf(queryInfoList);
+        long elapsed = profile.statementFinished(shape);
+        if (log.isTraceEnabled()) {
+            log.trace("{} µs: {}", TimeUnit.NANOSECONDS.toMicros(elapsed), shape);
+        }
+        if (elapsed >= slowQueryNanos) {
+            slowQueryLogger.log(shape, TimeUnit.NANOSECONDS.toMillis(elapsed), profile.getLabel());
+        }
+    }
+
+    private String shapeOf(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.size() == 1) {
+            return shapeOf(queryInfoList.get(0).getQuery());
+        }
+        StringBuilder batch = new StringBuilder();
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (batch.length() > 0) {
+                batch.append("; ");
+            }
+            batch.append(shapeOf(queryInfo.getQuery()));
+        }
+        return batch.toString();
+    }
+
+    private String shapeOf(String sql) {
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = SqlShape.of(sql);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+}
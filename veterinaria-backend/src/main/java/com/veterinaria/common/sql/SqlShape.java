@@ -0,0 +1,33 @@
+package com.veterinaria.common.sql;
+
+import java.util.regex.Pattern;
+
+/**
+ * Forma de una sentencia SQL: el texto sin literales ni comentarios
+ *
+ * Dos sentencias con la misma forma solo difieren en sus valores, que es
+ * lo que se repite en un N+1. La forma tampoco contiene datos del
+ * usuario, por lo que se puede guardar en logs.
+ *
+ * Ejemplo: "select * from mascotas where id_mascota = 42"
+ *       -> "select * from mascotas where id_mascota = ?"
+ */
+public final class SqlShape {
+
+    private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern STRING_LITERALS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERALS = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LISTS = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShape() {
+    }
+
+    public static String of(String sql) {
+        String shape = COMMENTS.matcher(sql).replaceAll(" ");
+        shape = STRING_LITERALS.matcher(shape).replaceAll("?");
+        shape = NUMERIC_LITERALS.matcher(shape).replaceAll("?");
+        shape = IN_LISTS.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,138 @@
+package com.veterinaria.common.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador token-bucket en memoria con estado particionado (striped)
+ *
+ * Cada clave (username, IP, etc.) tiene un balde con capacidad fija que se
+ * recarga a ritmo constante. Las claves se reparten en "stripes" con su
+ * propio lock, de modo que requests de claves distintas casi nunca compiten.
+ * No escribe nada en la BD.
+ *
+ * Para acotar memoria, cada stripe guarda como máximo maxKeysPerStripe
+ * baldes. Al llenarse descarta los que ya se recargaron por completo
+ * (equivalen a una clave nueva); si no hay ninguno, descarta solo el que
+ * tiene más tokens, y entre iguales el menos usado. Los baldes agotados
+ * son los últimos en salir: las claves frenadas siguen frenadas.
+ */
+public class TokenBucketLimiter {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int maxKeysPerStripe;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param stripes          Número de particiones (se redondea a potencia de 2)
+     * @param capacity         Tokens máximos por clave (ráfaga permitida)
+     * @param refillPerSecond  Tokens recargados por segundo
+     * @param maxKeysPerStripe Claves máximas por partición
+     */
+    public TokenBucketLimiter(int stripes, double capacity, double refillPerSecond, int maxKeysPerStripe) {
+        this(stripes, capacity, refillPerSecond, maxKeysPerStripe, System::nanoTime);
+    }
+
+    // Reloj inyectable para pruebas
+    TokenBucketLimiter(int stripes, double capacity, double refillPerSecond, int maxKeysPerStripe, LongSupplier nanoClock) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.maxKeysPerStripe = maxKeysPerStripe;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Intenta consumir un token de la clave
+     *
+     * @param key Clave a limitar
+     * @return 0 si se concedió, o los nanosegundos hasta el próximo token
+     */
+    public long tryAcquire(String key) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & mask];
+
+        synchronized (stripe) {
+            long now = nanoClock.getAsLong();
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxKeysPerStripe) {
+                    evictIdle(stripe, now);
+                }
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+
+            refill(bucket, now);
+            if (bucket.tokens >= 1d) {
+                bucket.tokens -= 1d;
+                return 0L;
+            }
+            return (long) Math.ceil((1d - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    private void refill(Bucket bucket, long now) {
+        bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefillNanos) * tokensPerNano);
+        bucket.lastRefillNanos = now;
+    }
+
+    private void evictIdle(Stripe stripe, long now) {
+        String fullestKey = null;
+        double fullestTokens = -1d;
+        Iterator<Map.Entry<String, Bucket>> entries = stripe.buckets.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Bucket> entry = entries.next();
+            Bucket bucket = entry.getValue();
+            double tokens = bucket.tokens + (now - bucket.lastRefillNanos) * tokensPerNano;
+            if (tokens >= capacity) {
+                entries.remove();
+            } else if (tokens > fullestTokens) {
+                // Ante empate gana el menos usado (aparece primero)
+                fullestKey = entry.getKey();
+                fullestTokens = tokens;
+            }
+        }
+        if (stripe.buckets.size() >= maxKeysPerStripe) {
+            stripe.buckets.remove(fullestKey);
+        }
+    }
+
+    /**
+     * Baldes vivos (para métricas y pruebas)
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe {
+        // accessOrder = true: la iteración empieza por el menos usado (desempate)
+        private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+}
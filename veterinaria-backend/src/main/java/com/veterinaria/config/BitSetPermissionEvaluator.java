@@ -0,0 +1,150 @@
+package com.veterinaria.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Evaluador de permisos para @PreAuthorize basado en bits
+ *
+ * Uso: @PreAuthorize("hasPermission('CITAS', 'CANCEL')")
+ *
+ * Responsabilidades:
+ * 1. Cargar permisos y rol_permiso una sola vez en una PermissionSnapshot
+ * 2. Resolver cada verificación con una prueba de bit (sin consultar la BD)
+ * 3. Recargar la foto de forma atómica cuando cambian las asignaciones
+ * 4. Revisar periódicamente una huella de las tablas para recoger cambios
+ *    que no publican RolePermissionsChangedEvent (SQL directo, otra instancia)
+ */
+@Slf4j
+@Component
+public class BitSetPermissionEvaluator implements PermissionEvaluator {
+
+    private static final String SQL_PERMISOS =
+            "SELECT id_permiso, recurso, accion FROM permisos ORDER BY id_permiso";
+
+    private static final String SQL_ASIGNACIONES =
+            "SELECT r.nombre_rol, rp.permiso_id FROM rol_permiso rp JOIN roles r ON r.id_rol = rp.rol_id";
+
+    // Unas decenas de filas: más barato que comparar las tablas en Java
+    static final String SQL_HUELLA = "SELECT md5("
+            + "coalesce((SELECT string_agg(id_permiso || ':' || recurso || ':' || accion, ',' ORDER BY id_permiso)"
+            + " FROM permisos), '') || '|' || "
+            + "coalesce((SELECT string_agg(r.nombre_rol || ':' || rp.permiso_id, ',' ORDER BY r.nombre_rol, rp.permiso_id)"
+            + " FROM rol_permiso rp JOIN roles r ON r.id_rol = rp.rol_id), ''))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile PermissionSnapshot snapshot = PermissionSnapshot.EMPTY;
+
+    // Huella de la foto vigente; null hasta la primera carga
+    private volatile String huella;
+
+    /**
+     * Verifica hasPermission(recurso, accion)
+     */
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        if (authentication == null
+                || !(targetDomainObject instanceof String recurso)
+                || !(permission instanceof String accion)) {
+            return false;
+        }
+
+        PermissionSnapshot current = snapshot;
+        int index = current.indexOf(recurso, accion);
+        if (index < 0) {
+            return false;
+        }
+
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (current.hasPermission(authority.getAuthority(), index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica hasPermission(id, recurso, accion); el id no se usa porque
+     * los permisos del esquema son por recurso, no por instancia
+     */
+    @Override
+    public boolean hasPermission(
+            Authentication authentication,
+            Serializable targetId,
+            String targetType,
+            Object permission
+    ) {
+        return hasPermission(authentication, targetType, permission);
+    }
+
+    /**
+     * Carga inicial al terminar el arranque
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Recarga tras el commit de un cambio en roles o permisos
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * Recarga si la huella de permisos/asignaciones cambió desde la última foto
+     */
+    @Scheduled(
+            initialDelayString = "${veterinaria.permissions.check-interval-ms:30000}",
+            fixedDelayString = "${veterinaria.permissions.check-interval-ms:30000}"
+    )
+    public void checkForChanges() {
+        if (huella == null) {
+            return;
+        }
+        try {
+            String actual = jdbcTemplate.queryForObject(SQL_HUELLA, String.class);
+            if (!actual.equals(huella)) {
+                log.info("Cambios en roles/permisos detectados fuera de la aplicación, recargando");
+                reload();
+            }
+        } catch (DataAccessException e) {
+            log.warn("No se pudo verificar la huella de permisos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Construye una nueva foto y la publica en una sola escritura volatile
+     *
+     * La huella se lee antes que las tablas: un cambio entre ambas lecturas
+     * solo provoca una recarga extra en la siguiente verificación.
+     */
+    public synchronized void reload() {
+        String nuevaHuella = jdbcTemplate.queryForObject(SQL_HUELLA, String.class);
+        List<PermissionSnapshot.Permiso> permisos = jdbcTemplate.query(SQL_PERMISOS, (rs, rowNum) ->
+                new PermissionSnapshot.Permiso(rs.getLong(1), rs.getString(2), rs.getString(3)));
+        List<PermissionSnapshot.Asignacion> asignaciones = jdbcTemplate.query(SQL_ASIGNACIONES, (rs, rowNum) ->
+                new PermissionSnapshot.Asignacion(rs.getString(1), rs.getLong(2)));
+
+        snapshot = PermissionSnapshot.build(permisos, asignaciones);
+        huella = nuevaHuella;
+        log.info("Permisos cargados: {} permisos, {} asignaciones", permisos.size(), asignaciones.size());
+    }
+}
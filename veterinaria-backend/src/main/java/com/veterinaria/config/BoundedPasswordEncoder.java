@@ -0,0 +1,171 @@
+package com.veterinaria.config;
+
+import com.veterinaria.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder que ejecuta BCrypt en un pool dedicado y acotado
+ *
+ * BCrypt es costoso a propósito. Sin límite, una ráfaga de logins ocupa
+ * todos los núcleos y los hilos de Tomcat que atienden el tráfico clínico.
+ *
+ * Responsabilidades:
+ * 1. Limitar los hashes concurrentes al tamaño del pool
+ * 2. Rechazar rápido (429) si la cola está llena o se agota el presupuesto de espera
+ * 3. Medir por separado la espera en cola y el tiempo de cómputo
+ *
+ * Métricas: auth.bcrypt.queue, auth.bcrypt.compute, auth.bcrypt.rejected
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long queueBudgetNanos;
+    private final long computeTimeoutNanos;
+
+    private final Timer queueTimer;
+    private final Timer computeTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * @param delegate         Encoder real (BCrypt)
+     * @param threads          Hilos dedicados a BCrypt
+     * @param queueCapacity    Tareas máximas esperando en cola
+     * @param queueBudgetMs    Espera máxima en cola antes de rechazar
+     * @param computeTimeoutMs Tiempo máximo de cómputo de un hash
+     * @param meterRegistry    Registro de métricas
+     */
+    public BoundedPasswordEncoder(
+            PasswordEncoder delegate,
+            int threads,
+            int queueCapacity,
+            long queueBudgetMs,
+            long computeTimeoutMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.queueBudgetNanos = TimeUnit.MILLISECONDS.toNanos(queueBudgetMs);
+        this.computeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(computeTimeoutMs);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.queueTimer = Timer.builder("auth.bcrypt.queue")
+                .description("Tiempo de espera en cola antes de calcular BCrypt")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.computeTimer = Timer.builder("auth.bcrypt.compute")
+                .description("Tiempo de cómputo de BCrypt")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.bcrypt.rejected")
+                .description("Hashes rechazados por cola llena o presupuesto agotado")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.bcrypt.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Detiene el pool al cerrar el contexto (destroy method inferido por Spring)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+
+        // 1. Encolar; si la cola está llena se rechaza de inmediato
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - enqueuedAt;
+                queueTimer.record(waited, TimeUnit.NANOSECONDS);
+
+                // 2. Si esperó más del presupuesto, el cliente ya fue rechazado
+                if (waited > queueBudgetNanos) {
+                    throw new QueueBudgetExceededException();
+                }
+                try {
+                    return task.call();
+                } finally {
+                    computeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            throw rejected();
+        }
+
+        // 3. Esperar el resultado como máximo presupuesto de cola + cómputo
+        try {
+            return future.get(queueBudgetNanos + computeTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw rejected();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw rejected();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof QueueBudgetExceededException) {
+                throw rejected();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error calculando hash de contraseña", cause);
+        }
+    }
+
+    private TooManyRequestsException rejected() {
+        rejectedCounter.increment();
+        return new TooManyRequestsException("Servicio de autenticación saturado, intente nuevamente", 1);
+    }
+
+    private static final class QueueBudgetExceededException extends RuntimeException {
+        private QueueBudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+}
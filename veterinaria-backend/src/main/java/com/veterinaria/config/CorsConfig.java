@@ -52,7 +52,8 @@ public class CorsConfig {
                 "Authorization",   // Para JWT token
                 "Content-Type",    // Para JSON
                 "Accept",          // Tipo de respuesta aceptada
-                "X-Requested-With" // Identificar AJAX requests
+                "X-Requested-With", // Identificar AJAX requests
+                "If-None-Match"     // Revalidación de catálogos con ETag
         ));
 
         // 4. Permitir enviar credenciales (cookies, auth headers)
@@ -61,7 +62,11 @@ public class CorsConfig {
         // 5. Headers que el frontend puede leer en la respuesta
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",     // Para devolver nuevo token
-                "Content-Disposition" // Para descargas de archivos
+                "Content-Disposition", // Para descargas de archivos
+                "ETag",                // Versión de catálogos cacheados
+                "Retry-After",         // Espera sugerida tras un 429
+                "X-Sql-Count",         // Sentencias SQL del request (solo desarrollo)
+                "X-Sql-Time-Ms"        // Tiempo de BD del request (solo desarrollo)
         ));
 
         // 6. Tiempo que el navegador cachea la respuesta preflight (1 hora)
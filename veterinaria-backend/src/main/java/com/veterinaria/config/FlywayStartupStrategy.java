@@ -0,0 +1,127 @@
+package com.veterinaria.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Estrategia de Flyway para arranques rápidos
+ *
+ * Con veterinaria.startup.skip-current-schema-validation=true, si la última
+ * versión aplicada en la BD ya es la última migración del classpath, no se
+ * ejecuta Flyway: se evita leer y calcular el checksum de todos los
+ * scripts (V1 tiene ~900 líneas). Si hay migraciones pendientes, un
+ * intento fallido o migraciones repetibles (R__*.sql, que solo se detectan
+ * por checksum), se hace el migrate normal con validación.
+ *
+ * Con la propiedad en true no se detecta un cambio en un script V ya
+ * aplicado (checksum distinto): ese control queda para los arranques con
+ * la propiedad en false (SKIP_SCHEMA_VALIDATION=false en prod), donde
+ * migrate valida todos los checksums antes de aplicar.
+ *
+ * La propiedad se lee en tiempo de ejecución (no con @ConditionalOnProperty)
+ * para que funcione igual con el contexto pre-procesado por Spring AOT.
+ */
+@Slf4j
+@Component
+public class FlywayStartupStrategy implements FlywayMigrationStrategy {
+
+    @Value("${veterinaria.startup.skip-current-schema-validation:false}")
+    private boolean skipWhenCurrent;
+
+    @Override
+    public void migrate(Flyway flyway) {
+        if (skipWhenCurrent && isSchemaCurrent(flyway.getConfiguration())) {
+            log.info("Esquema al día: se omite la validación de migraciones de Flyway");
+            return;
+        }
+        flyway.migrate();
+    }
+
+    private boolean isSchemaCurrent(Configuration configuration) {
+        try {
+            if (hasRepeatableMigrations(configuration)) {
+                return false;
+            }
+            MigrationVersion latest = latestClasspathVersion(configuration);
+            MigrationVersion applied = appliedVersion(configuration);
+            return latest != null && latest.equals(applied);
+        } catch (IOException | RuntimeException ex) {
+            log.debug("No se pudo comparar la versión del esquema, se ejecuta migrate: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Hay algún R<separador>*.sql en las ubicaciones (sin leerlos)
+     */
+    private boolean hasRepeatableMigrations(Configuration configuration) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        String pattern = configuration.getRepeatableSqlMigrationPrefix() + configuration.getSqlMigrationSeparator() + "*.sql";
+
+        for (Location location : configuration.getLocations()) {
+            if (location.isClassPath()
+                    && resolver.getResources("classpath*:" + location.getPath() + "/**/" + pattern).length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mayor versión entre los nombres de archivo V<version>__*.sql (sin leerlos)
+     */
+    private MigrationVersion latestClasspathVersion(Configuration configuration) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        String prefix = configuration.getSqlMigrationPrefix();
+        String separator = configuration.getSqlMigrationSeparator();
+
+        MigrationVersion latest = null;
+        for (Location location : configuration.getLocations()) {
+            if (!location.isClassPath()) {
+                return null;
+            }
+            for (Resource resource : resolver.getResources(
+                    "classpath*:" + location.getPath() + "/**/" + prefix + "*" + separator + "*.sql")) {
+                String name = resource.getFilename();
+                MigrationVersion version = MigrationVersion.fromVersion(
+                        name.substring(prefix.length(), name.indexOf(separator)).replace('_', '.'));
+                if (latest == null || version.compareTo(latest) > 0) {
+                    latest = version;
+                }
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Última versión registrada en flyway_schema_history (null si falló o no existe)
+     */
+    private MigrationVersion appliedVersion(Configuration configuration) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(configuration.getDataSource());
+        String table = configuration.getTable();
+
+        String exists = jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, table);
+        if (exists == null) {
+            return null;
+        }
+
+        List<MigrationVersion> versions = jdbcTemplate.query(
+                "SELECT version, success FROM " + exists
+                        + " WHERE version IS NOT NULL ORDER BY installed_rank DESC LIMIT 1",
+                (rs, rowNum) -> rs.getBoolean("success") ? MigrationVersion.fromVersion(rs.getString("version")) : null
+        );
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+}
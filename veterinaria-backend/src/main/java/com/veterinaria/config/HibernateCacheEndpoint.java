@@ -0,0 +1,69 @@
+package com.veterinaria.config;
+
+import com.veterinaria.common.constants.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator con el hit ratio de la caché de segundo nivel
+ *
+ * GET /api/actuator/hibernatecache
+ *
+ * Resume por región aciertos, fallos, escrituras y elementos en memoria.
+ * Las mismas cifras se publican como métricas hibernate.second.level.cache.*
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+public class HibernateCacheEndpoint {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        CacheImplementor cache = sessionFactory.getCache();
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : CacheRegions.REFERENCE_REGIONS) {
+            // Solo regiones declaradas por alguna entidad con @Cache
+            if (cache.getRegion(region) != null) {
+                CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+                regions.put(region, regionSummary(stats.getHitCount(), stats.getMissCount(),
+                        stats.getPutCount(), stats.getElementCountInMemory()));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCache", regionSummary(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(), -1));
+        result.put("queryCache", regionSummary(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), -1));
+        result.put("regions", regions);
+        return result;
+    }
+
+    private Map<String, Object> regionSummary(long hits, long misses, long puts, long elements) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("hits", hits);
+        summary.put("misses", misses);
+        summary.put("puts", puts);
+        summary.put("hitRatio", hits + misses == 0 ? 0d : (double) hits / (hits + misses));
+        if (elements >= 0) {
+            summary.put("elementsInMemory", elements);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,237 @@
+package com.veterinaria.config;
+
+import com.veterinaria.common.cache.CatalogResource;
+import com.veterinaria.common.cache.CatalogResponseCache;
+import com.veterinaria.common.cache.CatalogVersionRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro de caché HTTP para endpoints de catálogo
+ *
+ * Responsabilidades:
+ * 1. Responder 304 a GET con If-None-Match vigente (sin tocar la BD)
+ * 2. Servir bytes ya serializados desde la caché en servidor
+ * 3. Agregar ETag y Cache-Control a las respuestas de catálogo
+ * 4. Ejecutar las escrituras en una transacción que incrementa la versión
+ *    del recurso al confirmarse (ver CatalogVersionRegistry.markWritten)
+ *
+ * Se ejecuta después de Spring Security pero antes del controller, es
+ * decir, antes de @PreAuthorize. Por eso la clave de caché y el ETag
+ * incluyen las authorities del usuario: una respuesta solo se reutiliza
+ * para quien tiene exactamente los mismos permisos que quien la generó
+ * (y que ya pasó @PreAuthorize). La compresión la hace Tomcat
+ * (server.compression) sobre los bytes que escribe este filtro.
+ *
+ * Las escrituras corren dentro de una transacción abierta aquí (los
+ * @Transactional del servicio se unen a ella) y su respuesta se retiene
+ * hasta el commit: la versión cambia antes de confirmar los datos, nunca
+ * después de que el cliente vio la respuesta. Si la escritura termina en
+ * error (4xx/5xx) la transacción se revierte y la versión no cambia.
+ */
+@Component
+public class HttpCacheFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private CatalogVersionRegistry versionRegistry;
+
+    @Autowired
+    private CatalogResponseCache responseCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${veterinaria.http-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${veterinaria.http-cache.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || CatalogResource.fromPath(getPath(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        CatalogResource resource = CatalogResource.fromPath(getPath(request));
+
+        if (isWrite(request.getMethod())) {
+            doWrite(resource, request, response, filterChain);
+            return;
+        }
+        if (!"GET".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 0. Escritura confirmándose: los datos pueden ser viejos o nuevos,
+        //    se responde sin ETag ni caché
+        if (versionRegistry.isCommitting(resource)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 1. Calcular ETag con la versión vigente antes de ejecutar el controller
+        String authorityKey = authorityKey();
+        String key = getKey(request, authorityKey);
+        long version = versionRegistry.currentVersion(resource);
+        String etag = versionRegistry.etag(resource, version, authorityKey);
+        String cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+                .cachePrivate()
+                .mustRevalidate()
+                .getHeaderValue();
+
+        // 2. El cliente ya tiene esta versión: 304 sin cuerpo
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            return;
+        }
+
+        // 3. Bytes ya serializados en el servidor: se omite controller y Jackson
+        CatalogResponseCache.CachedBody cached = responseCache.get(resource, key, version);
+        if (cached != null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        // 4. Ejecutar el controller capturando el cuerpo para cachearlo
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+            // Se guarda con la versión leída antes del controller: si hubo una
+            // escritura concurrente, la entrada queda obsoleta y nunca se sirve
+            responseCache.put(resource, key, version, wrapper.getContentAsByteArray(), wrapper.getContentType());
+            wrapper.setHeader(HttpHeaders.ETAG, etag);
+            wrapper.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Escritura de catálogo: transacción + versión atada al commit
+     *
+     * La respuesta queda en memoria hasta que la transacción terminó, así
+     * que el cliente no ve el resultado antes de que cambie la versión.
+     */
+    private void doWrite(
+            CatalogResource resource,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try {
+                    filterChain.doFilter(request, wrapper);
+                } catch (IOException | ServletException ex) {
+                    throw new WriteFailedException(ex);
+                }
+                if (wrapper.getStatus() < 400) {
+                    versionRegistry.markWritten(resource);
+                } else {
+                    status.setRollbackOnly();
+                }
+            });
+        } catch (WriteFailedException ex) {
+            if (ex.getCause() instanceof ServletException servletException) {
+                throw servletException;
+            }
+            throw (IOException) ex.getCause();
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Ruta del request sin el context-path (/api)
+     */
+    private String getPath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Clave de la representación: ruta + query string + authorities del usuario
+     */
+    private String getKey(HttpServletRequest request, String authorityKey) {
+        String query = request.getQueryString();
+        String path = query == null ? getPath(request) : getPath(request) + '?' + query;
+        return path + '#' + authorityKey;
+    }
+
+    /**
+     * Authorities ordenadas del usuario actual (las que decide @PreAuthorize)
+     */
+    private String authorityKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return "anonymous";
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private boolean isWrite(String method) {
+        return "POST".equals(method) || "PUT".equals(method)
+                || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+
+    /**
+     * Compara If-None-Match con el ETag actual (comparación débil, RFC 9110)
+     */
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Transporta las excepciones checked del filter chain fuera del TransactionTemplate
+    private static final class WriteFailedException extends RuntimeException {
+        private WriteFailedException(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.veterinaria.config;
+
+import com.veterinaria.common.exception.TooManyRequestsException;
+import com.veterinaria.common.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttling de intentos de login por IP y por (username, IP)
+ *
+ * Responsabilidades:
+ * 1. Limitar la ráfaga de intentos por IP (antes de parsear el request)
+ * 2. Limitar los intentos por username desde cada IP (antes de ejecutar BCrypt)
+ * 3. Informar al cliente cuándo reintentar (Retry-After)
+ *
+ * El límite por username no es global: si lo fuera, cualquiera podría
+ * bloquear una cuenta ajena enviando contraseñas incorrectas.
+ *
+ * Todo el estado vive en memoria; no genera escrituras en la BD.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final TokenBucketLimiter usernameLimiter;
+    private final TokenBucketLimiter ipLimiter;
+    private final Counter usernameRejected;
+    private final Counter ipRejected;
+
+    public LoginRateLimiter(
+            @Value("${veterinaria.auth.throttle.stripes:64}") int stripes,
+            @Value("${veterinaria.auth.throttle.max-keys-per-stripe:1024}") int maxKeysPerStripe,
+            @Value("${veterinaria.auth.throttle.username.capacity:5}") double usernameCapacity,
+            @Value("${veterinaria.auth.throttle.username.refill-per-minute:5}") double usernameRefillPerMinute,
+            @Value("${veterinaria.auth.throttle.ip.capacity:30}") double ipCapacity,
+            @Value("${veterinaria.auth.throttle.ip.refill-per-minute:60}") double ipRefillPerMinute,
+            MeterRegistry meterRegistry
+    ) {
+        this.usernameLimiter = new TokenBucketLimiter(
+                stripes, usernameCapacity, usernameRefillPerMinute / 60d, maxKeysPerStripe);
+        this.ipLimiter = new TokenBucketLimiter(
+                stripes, ipCapacity, ipRefillPerMinute / 60d, maxKeysPerStripe);
+        this.usernameRejected = Counter.builder("auth.throttle.rejected")
+                .tag("key", "username")
+                .register(meterRegistry);
+        this.ipRejected = Counter.builder("auth.throttle.rejected")
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consume un intento para la IP
+     *
+     * @param ip Dirección del cliente
+     * @throws TooManyRequestsException si la IP superó su límite
+     */
+    public void checkIp(String ip) {
+        long waitNanos = ipLimiter.tryAcquire(ip);
+        if (waitNanos > 0) {
+            ipRejected.increment();
+            throw new TooManyRequestsException("Demasiados intentos de autenticación", toRetryAfter(waitNanos));
+        }
+    }
+
+    /**
+     * Consume un intento para el username desde una IP (sin distinguir mayúsculas)
+     *
+     * @param username Usuario que intenta autenticarse
+     * @param ip       Dirección del cliente
+     * @throws TooManyRequestsException si el usuario superó su límite desde esa IP
+     */
+    public void checkUsername(String username, String ip) {
+        long waitNanos = usernameLimiter.tryAcquire(username.toLowerCase(Locale.ROOT) + '|' + ip);
+        if (waitNanos > 0) {
+            usernameRejected.increment();
+            throw new TooManyRequestsException("Demasiados intentos para este usuario", toRetryAfter(waitNanos));
+        }
+    }
+
+    private long toRetryAfter(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
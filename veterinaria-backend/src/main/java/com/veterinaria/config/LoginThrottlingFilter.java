@@ -0,0 +1,67 @@
+package com.veterinaria.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veterinaria.common.constants.SecurityConstants;
+import com.veterinaria.common.dto.ErrorResponse;
+import com.veterinaria.common.exception.ErrorCode;
+import com.veterinaria.common.exception.TooManyRequestsException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro de throttling por IP para los endpoints de autenticación
+ *
+ * Se ejecuta antes que Spring Security y que el parseo del body, de modo
+ * que un ataque de credential stuffing se rechaza con 429 sin consumir
+ * CPU de BCrypt ni hilos de negocio. El límite por username se aplica
+ * después, en ThrottledAuthenticationProvider.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoginThrottlingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"POST".equals(request.getMethod()) || !path.startsWith(SecurityConstants.AUTH_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        try {
+            // Con server.forward-headers-strategy=native ya es la IP del cliente, no la del proxy
+            loginRateLimiter.checkIp(request.getRemoteAddr());
+        } catch (TooManyRequestsException ex) {
+            ErrorResponse error = ErrorResponse.of(ErrorCode.TOO_MANY_REQUESTS, ex.getMessage(), request.getRequestURI());
+            response.setStatus(ErrorCode.TOO_MANY_REQUESTS.getStatus().value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), error);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,124 @@
+package com.veterinaria.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Foto inmutable de permisos por rol (tablas permisos y rol_permiso)
+ *
+ * Cada permiso recibe un índice denso (0..n-1) y cada rol un long[] donde
+ * el bit i indica si tiene el permiso i. Verificar un permiso son dos
+ * búsquedas en mapas y una prueba de bit, sin crear objetos.
+ *
+ * Los roles se indexan con y sin el prefijo "ROLE_" para aceptar
+ * cualquiera de las dos formas de GrantedAuthority.
+ */
+public final class PermissionSnapshot {
+
+    public static final PermissionSnapshot EMPTY = new PermissionSnapshot(Collections.emptyMap(), Collections.emptyMap(), 0);
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    // recurso -> accion -> índice del permiso
+    private final Map<String, Map<String, Integer>> indexByRecurso;
+
+    // rol -> bits de permisos
+    private final Map<String, long[]> bitsByRole;
+
+    private final int permissionCount;
+
+    private PermissionSnapshot(
+            Map<String, Map<String, Integer>> indexByRecurso,
+            Map<String, long[]> bitsByRole,
+            int permissionCount
+    ) {
+        this.indexByRecurso = indexByRecurso;
+        this.bitsByRole = bitsByRole;
+        this.permissionCount = permissionCount;
+    }
+
+    /**
+     * Construye la foto a partir de las filas de permisos y rol_permiso
+     *
+     * @param permisos     Filas de la tabla permisos
+     * @param asignaciones Filas de rol_permiso con el nombre del rol
+     * @return Foto lista para consultar
+     */
+    public static PermissionSnapshot build(List<Permiso> permisos, List<Asignacion> asignaciones) {
+        // 1. Índice denso por permiso
+        Map<Long, Integer> indexById = new HashMap<>();
+        Map<String, Map<String, Integer>> indexByRecurso = new HashMap<>();
+        for (Permiso permiso : permisos) {
+            int index = indexById.size();
+            indexById.put(permiso.id(), index);
+            indexByRecurso.computeIfAbsent(permiso.recurso(), k -> new HashMap<>())
+                    .put(permiso.accion(), index);
+        }
+
+        // 2. Bits por rol
+        int words = (indexById.size() + 63) >>> 6;
+        Map<String, long[]> bitsByRole = new HashMap<>();
+        for (Asignacion asignacion : asignaciones) {
+            Integer index = indexById.get(asignacion.permisoId());
+            if (index == null) {
+                continue;
+            }
+            long[] bits = bitsByRole.computeIfAbsent(asignacion.rol(), k -> new long[words]);
+            bits[index >>> 6] |= 1L << index;
+        }
+
+        // 3. Misma entrada con prefijo ROLE_ (comparten el arreglo)
+        Map<String, long[]> withPrefix = new HashMap<>(bitsByRole);
+        bitsByRole.forEach((rol, bits) -> withPrefix.put(ROLE_PREFIX + rol, bits));
+
+        return new PermissionSnapshot(indexByRecurso, withPrefix, indexById.size());
+    }
+
+    /**
+     * Obtiene el índice de un permiso
+     *
+     * @return Índice o -1 si el permiso no existe
+     */
+    public int indexOf(String recurso, String accion) {
+        Map<String, Integer> acciones = indexByRecurso.get(recurso);
+        if (acciones == null) {
+            return -1;
+        }
+        Integer index = acciones.get(accion);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Verifica si un rol tiene el permiso con el índice dado
+     */
+    public boolean hasPermission(String role, int index) {
+        long[] bits = bitsByRole.get(role);
+        return bits != null && (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Verifica si un rol tiene el permiso recurso/acción
+     */
+    public boolean hasPermission(String role, String recurso, String accion) {
+        int index = indexOf(recurso, accion);
+        return index >= 0 && hasPermission(role, index);
+    }
+
+    public int getPermissionCount() {
+        return permissionCount;
+    }
+
+    /**
+     * Fila de la tabla permisos
+     */
+    public record Permiso(long id, String recurso, String accion) {
+    }
+
+    /**
+     * Fila de rol_permiso con el nombre del rol ya resuelto
+     */
+    public record Asignacion(String rol, long permisoId) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.veterinaria.config;
+
+/**
+ * Evento que indica que cambiaron roles, permisos o rol_permiso
+ *
+ * Los servicios que modifiquen esas tablas deben publicarlo dentro de la
+ * transacción; BitSetPermissionEvaluator recarga su foto tras el commit.
+ */
+public record RolePermissionsChangedEvent(String origen) {
+}
@@ -1,15 +1,23 @@
 package com.veterinaria.config;
 
 import com.veterinaria.common.constants.SecurityConstants;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -23,7 +31,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
  * - Endpoints públicos vs protegidos
  * - JWT como mecanismo de autenticación
  * - CORS para frontend
- * - Encoder de contraseñas
+ * - Encoder de contraseñas (BCrypt en pool dedicado y acotado)
+ * - Throttling de intentos de login por username
+ * - hasPermission(recurso, accion) en @PreAuthorize
  */
 
 @Configuration
@@ -37,9 +47,53 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Value("${veterinaria.auth.bcrypt.threads:2}")
+    private int bcryptThreads;
+
+    @Value("${veterinaria.auth.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    @Value("${veterinaria.auth.bcrypt.queue-budget-ms:500}")
+    private long bcryptQueueBudgetMs;
+
+    @Value("${veterinaria.auth.bcrypt.compute-timeout-ms:2000}")
+    private long bcryptComputeTimeoutMs;
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                bcryptThreads,
+                bcryptQueueCapacity,
+                bcryptQueueBudgetMs,
+                bcryptComputeTimeoutMs,
+                meterRegistry
+        );
+    }
+
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider(
+            UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            LoginRateLimiter loginRateLimiter
+    ) {
+        ThrottledAuthenticationProvider provider =
+                new ThrottledAuthenticationProvider(userDetailsService, loginRateLimiter);
+        provider.setPasswordEncoder(passwordEncoder);
+        return provider;
+    }
+
+    /**
+     * Registra BitSetPermissionEvaluator para hasPermission() en @PreAuthorize
+     * (static y @Lazy para no adelantar la creación del DataSource)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(
+            @Lazy PermissionEvaluator permissionEvaluator
+    ) {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setPermissionEvaluator(permissionEvaluator);
+        return handler;
     }
 
     @Bean
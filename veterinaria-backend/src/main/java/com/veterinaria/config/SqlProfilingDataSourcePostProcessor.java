@@ -0,0 +1,56 @@
+package com.veterinaria.config;
+
+import com.veterinaria.common.sql.SlowQueryLogger;
+import com.veterinaria.common.sql.SqlProfilingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource con datasource-proxy para perfilar SQL por request
+ *
+ * Cubre todo el acceso a BD (Hibernate, JdbcTemplate, proyecciones), no
+ * solo lo que pasa por Hibernate. El DataSource original se conserva para
+ * el SlowQueryLogger. Se desactiva con veterinaria.sql-profiler.enabled=false.
+ */
+@Component
+public class SqlProfilingDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware, DisposableBean {
+
+    private Environment environment;
+    private SlowQueryLogger slowQueryLogger;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                || !environment.getProperty("veterinaria.sql-profiler.enabled", Boolean.class, true)) {
+            return bean;
+        }
+
+        long slowQueryMillis = environment.getProperty("veterinaria.sql-profiler.slow-query-ms", Long.class, 500L);
+        int queueCapacity = environment.getProperty("veterinaria.sql-profiler.slow-query-queue", Integer.class, 256);
+
+        slowQueryLogger = new SlowQueryLogger(dataSource, queueCapacity);
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new SqlProfilingListener(slowQueryMillis, slowQueryLogger))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        if (slowQueryLogger != null) {
+            slowQueryLogger.shutdown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.veterinaria.config;
+
+import com.veterinaria.common.sql.SqlProfile;
+import com.veterinaria.common.sql.SqlProfiler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Abre un alcance de perfilado SQL por request
+ *
+ * Responsabilidades:
+ * 1. Contar sentencias y tiempo de BD del request
+ * 2. Advertir formas repetidas (posible N+1)
+ * 3. En desarrollo, devolver X-Sql-Count y X-Sql-Time-Ms
+ *
+ * Corre justo después del throttling de login para incluir las consultas
+ * de Spring Security (carga del usuario del JWT).
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_SQL_COUNT = "X-Sql-Count";
+    public static final String HEADER_SQL_TIME = "X-Sql-Time-Ms";
+
+    @Value("${veterinaria.sql-profiler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${veterinaria.sql-profiler.n-plus-one-threshold:" + SqlProfile.DEFAULT_N_PLUS_ONE_THRESHOLD + "}")
+    private int nPlusOneThreshold;
+
+    @Value("${veterinaria.sql-profiler.response-headers:false}")
+    private boolean responseHeaders;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        SqlProfile profile = SqlProfiler.start(request.getMethod() + " " + request.getRequestURI());
+
+        // Los headers se agregan al final: hay que retener el cuerpo hasta entonces
+        ContentCachingResponseWrapper wrapper = responseHeaders ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            SqlProfiler.stop(profile);
+            report(profile);
+            if (wrapper != null) {
+                wrapper.setHeader(HEADER_SQL_COUNT, String.valueOf(profile.getStatementCount()));
+                wrapper.setHeader(HEADER_SQL_TIME, String.valueOf(profile.getTotalMillis()));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(SqlProfile profile) {
+        if (profile.getStatementCount() == 0) {
+            return;
+        }
+        log.debug("{}", profile);
+
+        Map<String, Integer> repeated = profile.repeatedShapes(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            repeated.forEach((shape, count) ->
+                    log.warn("Posible N+1 en {}: {} ejecuciones de: {}", profile.getLabel(), count, shape));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.veterinaria.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * Resumen del arranque en el log
+ *
+ * Al quedar lista la aplicación imprime los pasos más lentos registrados
+ * por BufferingApplicationStartup (creación de beans, Flyway, Hibernate...).
+ * El timeline completo está en /api/actuator/startup.
+ */
+@Slf4j
+@Component
+public class StartupTimelineReporter {
+
+    @Value("${veterinaria.startup.report-top:15}")
+    private int reportTop;
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (reportTop <= 0 || !(event.getApplicationContext().getApplicationStartup()
+                instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        StringBuilder report = new StringBuilder("Arranque listo en ")
+                .append(event.getTimeTaken().toMillis()).append(" ms. Pasos más lentos:");
+
+        timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(reportTop)
+                .forEach(step -> report.append(String.format("%n  %6d ms  %s%s",
+                        step.getDuration().toMillis(),
+                        step.getStartupStep().getName(),
+                        describe(step.getStartupStep()))));
+
+        log.info(report.toString());
+    }
+
+    private String describe(StartupStep step) {
+        Iterator<StartupStep.Tag> tags = step.getTags().iterator();
+        if (!tags.hasNext()) {
+            return "";
+        }
+        StartupStep.Tag tag = tags.next();
+        return " [" + tag.getKey() + "=" + tag.getValue() + "]";
+    }
+}
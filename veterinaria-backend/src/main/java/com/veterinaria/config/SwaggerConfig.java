@@ -9,6 +9,7 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 /**
  * Configuración de Swagger/OpenAPI
@@ -20,8 +21,12 @@ import org.springframework.context.annotation.Configuration;
  * - Listado de todos los endpoints
  * - Botón "Authorize" para agregar token JWT
  * - Interfaz para probar endpoints sin Postman
+ *
+ * Es lazy: el OpenAPI se construye con la primera consulta a la
+ * documentación, no durante el arranque.
  */
 @Configuration
+@Lazy
 public class SwaggerConfig {
 
     /**
@@ -0,0 +1,51 @@
+package com.veterinaria.config;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Proveedor de autenticación con límite de intentos por username e IP
+ *
+ * Consume un token de (username, IP) antes de cargar el usuario y ejecutar
+ * BCrypt; si no hay tokens lanza TooManyRequestsException (429) sin
+ * tocar la BD ni el pool de BCrypt. Al incluir la IP, quien adivina
+ * contraseñas desde una dirección no bloquea al dueño de la cuenta en otra.
+ */
+public class ThrottledAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final String UNKNOWN_IP = "desconocida";
+
+    private final LoginRateLimiter loginRateLimiter;
+
+    public ThrottledAuthenticationProvider(UserDetailsService userDetailsService, LoginRateLimiter loginRateLimiter) {
+        super(userDetailsService);
+        this.loginRateLimiter = loginRateLimiter;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getName() != null) {
+            loginRateLimiter.checkUsername(authentication.getName(), clientIp(authentication));
+        }
+        return super.authenticate(authentication);
+    }
+
+    /**
+     * IP del cliente: de los detalles del token o, si no vienen, del request actual
+     */
+    private String clientIp(Authentication authentication) {
+        if (authentication.getDetails() instanceof WebAuthenticationDetails details
+                && details.getRemoteAddress() != null) {
+            return details.getRemoteAddress();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return UNKNOWN_IP;
+    }
+}
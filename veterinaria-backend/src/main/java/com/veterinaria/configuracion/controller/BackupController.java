@@ -0,0 +1,72 @@
+package com.veterinaria.configuracion.controller;
+
+import com.veterinaria.common.dto.ApiResponse;
+import com.veterinaria.configuracion.dto.BackupProgressResponse;
+import com.veterinaria.configuracion.dto.BackupResponse;
+import com.veterinaria.configuracion.model.ModoBackup;
+import com.veterinaria.configuracion.service.BackupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/backups")
+public class BackupController {
+
+    @Autowired
+    private BackupService backupService;
+
+    /**
+     * Inicia un backup en segundo plano
+     *
+     * Ejemplo: POST /api/backups?modo=INCREMENTAL
+     */
+    @PostMapping
+    @PreAuthorize("hasPermission('CONFIGURACION', 'UPDATE')")
+    public ResponseEntity<ApiResponse<BackupResponse>> iniciar(
+            @RequestParam(defaultValue = "COMPLETO") ModoBackup modo,
+            Authentication authentication
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Backup iniciado", backupService.iniciarBackup(modo, authentication)));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasPermission('CONFIGURACION', 'UPDATE')")
+    public ResponseEntity<ApiResponse<BackupResponse>> obtener(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(backupService.obtenerBackup(id)));
+    }
+
+    @GetMapping("/{id}/progreso")
+    @PreAuthorize("hasPermission('CONFIGURACION', 'UPDATE')")
+    public ResponseEntity<ApiResponse<BackupProgressResponse>> progreso(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(backupService.obtenerProgreso(id)));
+    }
+
+    /**
+     * Inicia en segundo plano la restauración del backup (y su cadena de
+     * incrementales). Reemplaza todos los datos.
+     *
+     * El avance se consulta en GET /api/backups/{id}/restauracion
+     */
+    @PostMapping("/{id}/restaurar")
+    @PreAuthorize("hasPermission('CONFIGURACION', 'UPDATE')")
+    public ResponseEntity<ApiResponse<BackupProgressResponse>> restaurar(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Restauración iniciada", backupService.restaurar(id)));
+    }
+
+    @GetMapping("/{id}/restauracion")
+    @PreAuthorize("hasPermission('CONFIGURACION', 'UPDATE')")
+    public ResponseEntity<ApiResponse<BackupProgressResponse>> restauracion(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(backupService.obtenerProgresoRestauracion(id)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.veterinaria.configuracion.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.veterinaria.configuracion.model.ModoBackup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Manifiesto de un backup (manifest.json en el directorio del backup)
+ *
+ * Describe el snapshot exportado y cada archivo por tabla. La restauración
+ * lo usa para validar la versión del esquema y los checksums.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BackupManifest {
+
+    public static final String FILE_NAME = "manifest.json";
+
+    private int formatVersion;
+    private ModoBackup modo;
+    private String schemaVersion;
+    private String snapshotId;
+    private OffsetDateTime snapshotTime;
+
+    // Solo incrementales: filas append-only desde esta fecha
+    private OffsetDateTime desde;
+    private Long backupBaseId;
+
+    private long duracionMs;
+    private List<TableEntry> tablas;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TableEntry {
+        private String tabla;
+        private String archivo;
+        private ModoBackup modo;
+        private String columnaIncremental;
+        private long filas;
+        private long bytesSinComprimir;
+        private long bytesComprimidos;
+        private String sha256;
+        private long duracionMs;
+    }
+}
@@ -0,0 +1,24 @@
+package com.veterinaria.configuracion.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackupProgressResponse {
+
+    private Long idBackup;
+    private int tablasTotales;
+    private int tablasCompletadas;
+    private long filas;
+    private long bytesSinComprimir;
+    private long bytesComprimidos;
+    private long segundosTranscurridos;
+    private double mbPorSegundo;
+    private boolean finalizado;
+    private String error;       // Solo si terminó con error
+}
@@ -0,0 +1,41 @@
+package com.veterinaria.configuracion.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.veterinaria.configuracion.model.BackupSistema;
+import com.veterinaria.configuracion.model.EstadoBackup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BackupResponse {
+
+    private Long id;
+    private OffsetDateTime fechaCreacion;
+    private String rutaArchivo;
+    private BigDecimal tamanioMb;
+    private EstadoBackup estado;
+    private Map<String, Object> metadata;
+    private Long creadoPor;
+
+    public static BackupResponse from(BackupSistema backup) {
+        return BackupResponse.builder()
+                .id(backup.getId())
+                .fechaCreacion(backup.getFechaCreacion())
+                .rutaArchivo(backup.getRutaArchivo())
+                .tamanioMb(backup.getTamanioMb())
+                .estado(backup.getEstado())
+                .metadata(backup.getMetadata())
+                .creadoPor(backup.getCreadoPor())
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.veterinaria.configuracion.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@Entity
+@Table(name = "backups_sistema")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackupSistema {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_backup")
+    private Long id;
+
+    @Column(name = "fecha_creacion")
+    private OffsetDateTime fechaCreacion;
+
+    @Column(name = "ruta_archivo", nullable = false)
+    private String rutaArchivo;
+
+    @Column(name = "tamanio_mb", precision = 10, scale = 2)
+    private BigDecimal tamanioMb;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 30)
+    private EstadoBackup estado;
+
+    // Resumen del manifiesto: modo, snapshot, backup base, tablas...
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "metadata", columnDefinition = "jsonb")
+    private Map<String, Object> metadata;
+
+    @Column(name = "creado_por")
+    private Long creadoPor;
+
+    @PrePersist
+    void prePersist() {
+        if (fechaCreacion == null) {
+            fechaCreacion = OffsetDateTime.now();
+        }
+    }
+}
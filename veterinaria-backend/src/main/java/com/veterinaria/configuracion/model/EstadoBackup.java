@@ -0,0 +1,10 @@
+package com.veterinaria.configuracion.model;
+
+/**
+ * Estados de backups_sistema (chk_estado_backup)
+ */
+public enum EstadoBackup {
+    EN_PROCESO,
+    COMPLETADO,
+    FALLIDO
+}
@@ -0,0 +1,13 @@
+package com.veterinaria.configuracion.model;
+
+/**
+ * Modo de copia de un backup o de una tabla dentro del backup
+ *
+ * COMPLETO: la tabla se exporta entera.
+ * INCREMENTAL: las tablas append-only solo exportan las filas nuevas desde
+ * el backup anterior; el resto se exporta completo.
+ */
+public enum ModoBackup {
+    COMPLETO,
+    INCREMENTAL
+}
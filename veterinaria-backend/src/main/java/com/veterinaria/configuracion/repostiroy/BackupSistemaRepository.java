@@ -0,0 +1,19 @@
+package com.veterinaria.configuracion.repostiroy;
+
+import com.veterinaria.configuracion.model.BackupSistema;
+import com.veterinaria.configuracion.model.EstadoBackup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BackupSistemaRepository extends JpaRepository<BackupSistema, Long> {
+
+    Optional<BackupSistema> findFirstByEstadoOrderByIdDesc(EstadoBackup estado);
+
+    boolean existsByEstado(EstadoBackup estado);
+
+    List<BackupSistema> findByEstado(EstadoBackup estado);
+}
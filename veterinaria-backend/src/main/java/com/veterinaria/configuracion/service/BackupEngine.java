@@ -0,0 +1,640 @@
+package com.veterinaria.configuracion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veterinaria.common.exception.BusinessException;
+import com.veterinaria.configuracion.dto.BackupManifest;
+import com.veterinaria.configuracion.model.ModoBackup;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Motor de backup y restauración con COPY de PostgreSQL
+ *
+ * Backup:
+ * 1. Una conexión coordinadora abre una transacción REPEATABLE READ y
+ *    exporta su snapshot (pg_export_snapshot)
+ * 2. N conexiones importan ese snapshot y ejecutan COPY TO STDOUT en
+ *    paralelo, una tabla por vez, empezando por las más grandes
+ * 3. Cada tabla se escribe comprimida (gzip) en su propio archivo, con SHA-256
+ * 4. Se escribe manifest.json con el detalle de cada archivo
+ *
+ * Todas las tablas reflejan el mismo instante aunque se copien en paralelo.
+ * Las conexiones se abren aparte del pool de Hikari (a lo sumo parallelism + 1),
+ * así un backup largo no deja sin conexiones a los requests.
+ * En modo INCREMENTAL las tablas append-only solo exportan las filas
+ * insertadas después del backup anterior; el resto se exporta completo.
+ *
+ * Restauración: valida checksums y versión de esquema, y reemplaza el
+ * contenido de todas las tablas en una sola transacción. backups_sistema
+ * queda fuera: el historial de backups se conserva tal como está.
+ */
+@Slf4j
+@Component
+public class BackupEngine {
+
+    // Tablas append-only: tabla -> columna con el momento de inserción (DEFAULT
+    // now(), nunca una fecha de negocio que se pueda registrar hacia atrás).
+    // Solo tablas cuyas filas nunca se borran: historial_acciones queda fuera
+    // porque su FK a usuarios es ON DELETE CASCADE y un incremental no ve esos borrados.
+    static final Map<String, String> APPEND_ONLY_TABLES = Map.of(
+            "logs_sistema", "fecha_hora",
+            "movimientos_inventario", "fecha_registro"
+    );
+
+    // Historial de backups: no se exporta ni se reemplaza al restaurar
+    // (perdería los registros posteriores al backup y el propio estado EN_PROCESO)
+    static final String HISTORY_TABLE = "backups_sistema";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String FILE_SUFFIX = ".copy.gz";
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-Fa-f-]+");
+
+    private static final String SQL_TABLES =
+            "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                    + "WHERE n.nspname = 'public' AND c.relkind = 'r' "
+                    + "AND c.relname NOT IN ('flyway_schema_history', '" + HISTORY_TABLE + "') "
+                    + "ORDER BY pg_total_relation_size(c.oid) DESC, c.relname";
+
+    private static final String SQL_FOREIGN_KEYS =
+            "SELECT hijo.relname, padre.relname FROM pg_constraint c "
+                    + "JOIN pg_class hijo ON hijo.oid = c.conrelid "
+                    + "JOIN pg_class padre ON padre.oid = c.confrelid "
+                    + "JOIN pg_namespace n ON n.oid = hijo.relnamespace "
+                    + "WHERE c.contype = 'f' AND n.nspname = 'public'";
+
+    private static final String SQL_SERIAL_COLUMNS =
+            "SELECT table_name, column_name, pg_get_serial_sequence(quote_ident(table_name), column_name) "
+                    + "FROM information_schema.columns "
+                    + "WHERE table_schema = 'public' AND column_default LIKE 'nextval(%'";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${veterinaria.backup.parallelism:4}")
+    private int parallelism;
+
+    @Value("${veterinaria.backup.compression-level:1}")
+    private int compressionLevel;
+
+    // ============================================
+    // BACKUP
+    // ============================================
+
+    /**
+     * Exporta la base de datos al directorio indicado
+     *
+     * @param directory    Directorio destino (se crea si no existe)
+     * @param modo         COMPLETO o INCREMENTAL
+     * @param desde        Solo INCREMENTAL: fecha desde la cual exportar filas append-only
+     * @param backupBaseId Solo INCREMENTAL: backup anterior de la cadena
+     * @param progress     Avance a actualizar
+     * @return Manifiesto escrito en el directorio
+     */
+    public BackupManifest backup(
+            Path directory,
+            ModoBackup modo,
+            OffsetDateTime desde,
+            Long backupBaseId,
+            BackupProgress progress
+    ) throws IOException, SQLException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+
+        try (Connection coordinator = openConnection()) {
+            // 1. Transacción coordinadora: fija el snapshot mientras dure el backup
+            beginReadOnlySnapshot(coordinator);
+            String snapshotId;
+            OffsetDateTime snapshotTime;
+            try (Statement statement = coordinator.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT pg_export_snapshot(), now()")) {
+                rs.next();
+                snapshotId = rs.getString(1);
+                snapshotTime = rs.getObject(2, OffsetDateTime.class);
+            }
+            String schemaVersion = schemaVersion(coordinator);
+            List<String> tables = queryStrings(coordinator, SQL_TABLES);
+            progress.start(tables.size());
+
+            // 2. Exportar tablas en paralelo (las más grandes primero)
+            List<BackupManifest.TableEntry> entries = runParallel(tables.size(), executor -> {
+                List<Future<BackupManifest.TableEntry>> futures = new ArrayList<>();
+                for (String table : tables) {
+                    String column = modo == ModoBackup.INCREMENTAL ? APPEND_ONLY_TABLES.get(table) : null;
+                    futures.add(executor.submit(() ->
+                            exportTable(directory, table, column, desde, snapshotId, progress)));
+                }
+                return futures;
+            });
+            coordinator.commit();
+
+            // 3. Manifiesto
+            BackupManifest manifest = BackupManifest.builder()
+                    .formatVersion(FORMAT_VERSION)
+                    .modo(modo)
+                    .schemaVersion(schemaVersion)
+                    .snapshotId(snapshotId)
+                    .snapshotTime(snapshotTime)
+                    .desde(modo == ModoBackup.INCREMENTAL ? desde : null)
+                    .backupBaseId(backupBaseId)
+                    .duracionMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .tablas(entries)
+                    .build();
+            objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValue(directory.resolve(BackupManifest.FILE_NAME).toFile(), manifest);
+
+            log.info("Backup {} terminado en {} ms: {} tablas, snapshot {}",
+                    modo, manifest.getDuracionMs(), entries.size(), snapshotId);
+            return manifest;
+        }
+    }
+
+    private BackupManifest.TableEntry exportTable(
+            Path directory,
+            String table,
+            String incrementalColumn,
+            OffsetDateTime desde,
+            String snapshotId,
+            BackupProgress progress
+    ) throws IOException, SQLException {
+        long start = System.nanoTime();
+        String fileName = table + FILE_SUFFIX;
+        String source = incrementalColumn == null
+                ? qualified(table)
+                : "(SELECT * FROM " + qualified(table) + " WHERE " + quote(incrementalColumn)
+                + " >= " + timestamptzLiteral(desde.toInstant()) + ")";
+
+        try (Connection connection = openConnection()) {
+            importSnapshot(connection, snapshotId);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            // Archivo <- SHA-256 <- conteo comprimido <- gzip <- conteo sin comprimir <- COPY
+            MessageDigest digest = sha256();
+            CountingOutputStream compressed;
+            CountingOutputStream raw;
+            long rows;
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(directory.resolve(fileName)), BUFFER_SIZE)) {
+                compressed = new CountingOutputStream(new DigestOutputStream(file, digest), null);
+                raw = new CountingOutputStream(gzip(compressed), progress);
+                try (raw) {
+                    rows = copyManager.copyOut("COPY " + source + " TO STDOUT (FORMAT binary)", raw);
+                }
+            }
+            connection.commit();
+
+            progress.tableDone(rows, compressed.count);
+            return BackupManifest.TableEntry.builder()
+                    .tabla(table)
+                    .archivo(fileName)
+                    .modo(incrementalColumn == null ? ModoBackup.COMPLETO : ModoBackup.INCREMENTAL)
+                    .columnaIncremental(incrementalColumn)
+                    .filas(rows)
+                    .bytesSinComprimir(raw.count)
+                    .bytesComprimidos(compressed.count)
+                    .sha256(HexFormat.of().formatHex(digest.digest()))
+                    .duracionMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .build();
+        }
+    }
+
+    // ============================================
+    // RESTAURACIÓN
+    // ============================================
+
+    /**
+     * Restaura una cadena de backups: un COMPLETO seguido de sus INCREMENTALES
+     *
+     * Cada tabla se reemplaza con su copia completa más reciente de la
+     * cadena; a las tablas append-only se les agregan además las filas de
+     * los incrementales posteriores (sin duplicar por clave primaria).
+     *
+     * @param chain    Directorios de la cadena, del COMPLETO al más reciente
+     * @param progress Avance a actualizar
+     */
+    public void restore(List<Path> chain, BackupProgress progress) throws IOException, SQLException {
+        // 1. Leer manifiestos y validar la cadena
+        List<BackupManifest> manifests = new ArrayList<>();
+        for (Path directory : chain) {
+            manifests.add(objectMapper.readValue(
+                    directory.resolve(BackupManifest.FILE_NAME).toFile(), BackupManifest.class));
+        }
+        if (manifests.isEmpty() || manifests.get(0).getModo() != ModoBackup.COMPLETO) {
+            throw new BusinessException("La cadena de restauración debe iniciar con un backup COMPLETO", "BACKUP_CADENA_INVALIDA");
+        }
+
+        // 2. Plan por tabla: copia completa más reciente + incrementales posteriores
+        Map<String, Path> replaceFiles = new LinkedHashMap<>();
+        Map<String, List<Path>> deltaFiles = new HashMap<>();
+        for (int i = 0; i < manifests.size(); i++) {
+            for (BackupManifest.TableEntry entry : manifests.get(i).getTablas()) {
+                if (HISTORY_TABLE.equals(entry.getTabla())) {
+                    continue;
+                }
+                Path file = chain.get(i).resolve(entry.getArchivo());
+                verifyChecksum(file, entry.getSha256());
+                if (entry.getModo() == ModoBackup.COMPLETO) {
+                    replaceFiles.put(entry.getTabla(), file);
+                    deltaFiles.remove(entry.getTabla());
+                } else {
+                    deltaFiles.computeIfAbsent(entry.getTabla(), k -> new ArrayList<>()).add(file);
+                }
+            }
+        }
+        progress.start(replaceFiles.size());
+
+        // 3. Reemplazar todo en una transacción
+        try (Connection connection = openConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                String expectedVersion = manifests.get(manifests.size() - 1).getSchemaVersion();
+                String currentVersion = schemaVersion(connection);
+                if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+                    throw new BusinessException("El backup es de la versión de esquema " + expectedVersion
+                            + " y la base de datos está en " + currentVersion, "BACKUP_VERSION_ESQUEMA");
+                }
+
+                List<String> order = insertOrder(connection, replaceFiles.keySet());
+
+                // backups_sistema referencia a usuarios: PostgreSQL no permite truncar
+                // usuarios sin truncarla también, así que se guarda y se reinserta
+                List<String> truncated = new ArrayList<>(order.stream().map(this::qualified).toList());
+                truncated.add(qualified(HISTORY_TABLE));
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TEMP TABLE backups_preservados ON COMMIT DROP AS SELECT * FROM "
+                            + qualified(HISTORY_TABLE));
+                    statement.execute("TRUNCATE " + String.join(", ", truncated));
+                }
+
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                for (String table : order) {
+                    Path file = replaceFiles.get(table);
+                    long rows = copyIn(copyManager, qualified(table), file, progress);
+                    long compressed = Files.size(file);
+                    for (Path delta : deltaFiles.getOrDefault(table, List.of())) {
+                        rows += mergeDelta(connection, copyManager, table, delta, progress);
+                        compressed += Files.size(delta);
+                    }
+                    progress.tableDone(rows, compressed);
+                }
+
+                restoreHistory(connection);
+                resetSequences(connection, replaceFiles.keySet());
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+        log.info("Restauración terminada: {} tablas desde {}", replaceFiles.size(), chain.get(chain.size() - 1));
+    }
+
+    /**
+     * Reinserta el historial de backups guardado antes del TRUNCATE
+     *
+     * Si el usuario que creó un backup no existe en los datos restaurados,
+     * creado_por queda en null.
+     */
+    private void restoreHistory(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE backups_preservados p SET creado_por = NULL "
+                    + "WHERE creado_por IS NOT NULL AND NOT EXISTS "
+                    + "(SELECT 1 FROM public.usuarios u WHERE u.id_usuario = p.creado_por)");
+            statement.executeUpdate("INSERT INTO " + qualified(HISTORY_TABLE) + " SELECT * FROM backups_preservados");
+        }
+    }
+
+    private long copyIn(CopyManager copyManager, String target, Path file, BackupProgress progress)
+            throws IOException, SQLException {
+        // COPY <- conteo sin comprimir <- gunzip <- archivo
+        try (InputStream in = new CountingInputStream(new GZIPInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE), BUFFER_SIZE), progress)) {
+            return copyManager.copyIn("COPY " + target + " FROM STDIN (FORMAT binary)", in);
+        }
+    }
+
+    private long mergeDelta(Connection connection, CopyManager copyManager, String table, Path file, BackupProgress progress)
+            throws IOException, SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE restore_delta (LIKE " + qualified(table) + ") ON COMMIT DROP");
+            copyIn(copyManager, "restore_delta", file, progress);
+            int inserted = statement.executeUpdate(
+                    "INSERT INTO " + qualified(table) + " SELECT * FROM restore_delta ON CONFLICT DO NOTHING");
+            statement.execute("DROP TABLE restore_delta");
+            return inserted;
+        }
+    }
+
+    /**
+     * Ordena las tablas para insertar primero las referenciadas por FK (Kahn)
+     */
+    private List<String> insertOrder(Connection connection, Set<String> tables) throws SQLException {
+        Map<String, Set<String>> parents = new HashMap<>();
+        for (String table : tables) {
+            parents.put(table, new LinkedHashSet<>());
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(SQL_FOREIGN_KEYS)) {
+            while (rs.next()) {
+                String child = rs.getString(1);
+                String parent = rs.getString(2);
+                if (!child.equals(parent) && tables.contains(child) && tables.contains(parent)) {
+                    parents.get(child).add(parent);
+                }
+            }
+        }
+
+        List<String> order = new ArrayList<>();
+        Set<String> pending = new LinkedHashSet<>(tables);
+        while (!pending.isEmpty()) {
+            List<String> ready = pending.stream()
+                    .filter(table -> order.containsAll(parents.get(table)))
+                    .toList();
+            // Ciclo de FKs: se agrega el resto tal cual
+            if (ready.isEmpty()) {
+                order.addAll(pending);
+                break;
+            }
+            order.addAll(ready);
+            ready.forEach(pending::remove);
+        }
+        return order;
+    }
+
+    /**
+     * Ajusta las secuencias BIGSERIAL al máximo restaurado
+     */
+    private void resetSequences(Connection connection, Set<String> tables) throws SQLException {
+        List<String[]> serials = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(SQL_SERIAL_COLUMNS)) {
+            while (rs.next()) {
+                if (tables.contains(rs.getString(1)) && rs.getString(3) != null) {
+                    serials.add(new String[]{rs.getString(1), rs.getString(2), rs.getString(3)});
+                }
+            }
+        }
+        for (String[] serial : serials) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT setval(?::regclass, COALESCE((SELECT MAX(" + quote(serial[1]) + ") FROM "
+                            + qualified(serial[0]) + "), 0) + 1, false)")) {
+                statement.setString(1, serial[2]);
+                statement.execute();
+            }
+        }
+    }
+
+    private void verifyChecksum(Path file, String expected) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equals(expected)) {
+            throw new BusinessException("Checksum inválido en " + file.getFileName(), "BACKUP_CORRUPTO");
+        }
+    }
+
+    // ============================================
+    // UTILIDADES
+    // ============================================
+
+    /**
+     * Conexión propia, fuera del pool de la aplicación
+     */
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+    }
+
+    private void beginReadOnlySnapshot(Connection connection) throws SQLException {
+        // Isolation y read-only antes de desactivar autocommit: el driver los
+        // aplica a la transacción que abre con la primera sentencia
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setReadOnly(true);
+        connection.setAutoCommit(false);
+    }
+
+    private void importSnapshot(Connection connection, String snapshotId) throws SQLException {
+        if (!SNAPSHOT_ID.matcher(snapshotId).matches()) {
+            throw new IllegalArgumentException("Snapshot inválido: " + snapshotId);
+        }
+        beginReadOnlySnapshot(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+        }
+    }
+
+    /**
+     * Última versión aplicada por Flyway (null si Flyway no está activo)
+     */
+    private String schemaVersion(Connection connection) throws SQLException {
+        List<String> exists = queryStrings(connection, "SELECT to_regclass('public.flyway_schema_history')::text");
+        if (exists.isEmpty() || exists.get(0) == null) {
+            return null;
+        }
+        List<String> versions = queryStrings(connection,
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank DESC LIMIT 1");
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    private List<String> queryStrings(Connection connection, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private <T> List<T> runParallel(int tasks, ParallelTasks<T> submitter) throws IOException, SQLException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, tasks)), runnable -> {
+            Thread thread = new Thread(runnable, "backup-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : submitter.submit(executor)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Backup interrumpido", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Error exportando tabla", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private OutputStream gzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(compressionLevel);
+            }
+        };
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Literal timestamptz para COPY, que no admite parámetros
+     *
+     * Se arma desde un Instant (ISO-8601 en UTC), nunca desde texto externo.
+     */
+    static String timestamptzLiteral(Instant instant) {
+        return "'" + DateTimeFormatter.ISO_INSTANT.format(instant) + "'::timestamptz";
+    }
+
+    private String qualified(String table) {
+        return "public." + quote(table);
+    }
+
+    private String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface ParallelTasks<T> {
+        List<Future<T>> submit(ExecutorService executor);
+    }
+
+    /**
+     * Reporta al progreso los bytes leídos (ya descomprimidos) durante la restauración
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final BackupProgress progress;
+
+        private CountingInputStream(InputStream in, BackupProgress progress) {
+            super(in);
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                progress.addRawBytes(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                progress.addRawBytes(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            progress.addRawBytes(skipped);
+            return skipped;
+        }
+    }
+
+    /**
+     * Cuenta bytes escritos (y opcionalmente los reporta al progreso)
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private final BackupProgress progress;
+        private long count;
+
+        private CountingOutputStream(OutputStream out, BackupProgress progress) {
+            super(out);
+            this.progress = progress;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            added(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            added(len);
+        }
+
+        private void added(long bytes) {
+            count += bytes;
+            if (progress != null) {
+                progress.addRawBytes(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.veterinaria.configuracion.service;
+
+import com.veterinaria.configuracion.dto.BackupProgressResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Avance de un backup o restauración en curso
+ *
+ * Lo actualizan en paralelo los hilos que exportan cada tabla.
+ */
+public class BackupProgress {
+
+    private final Long idBackup;
+    private final long startedAtNanos = System.nanoTime();
+
+    private volatile int totalTables;
+    private volatile long finishedAtNanos;
+    private volatile String error;
+    private final AtomicInteger completedTables = new AtomicInteger();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    public BackupProgress(Long idBackup) {
+        this.idBackup = idBackup;
+    }
+
+    void start(int totalTables) {
+        this.totalTables = totalTables;
+    }
+
+    void addRawBytes(long bytes) {
+        rawBytes.addAndGet(bytes);
+    }
+
+    void tableDone(long tableRows, long tableCompressedBytes) {
+        rows.addAndGet(tableRows);
+        compressedBytes.addAndGet(tableCompressedBytes);
+        completedTables.incrementAndGet();
+    }
+
+    void finish() {
+        finishedAtNanos = System.nanoTime();
+    }
+
+    void fail(String message) {
+        this.error = message;
+    }
+
+    public boolean isFinished() {
+        return finishedAtNanos != 0;
+    }
+
+    public BackupProgressResponse toResponse() {
+        long end = isFinished() ? finishedAtNanos : System.nanoTime();
+        double seconds = Math.max(1, end - startedAtNanos) / 1_000_000_000d;
+
+        return BackupProgressResponse.builder()
+                .idBackup(idBackup)
+                .tablasTotales(totalTables)
+                .tablasCompletadas(completedTables.get())
+                .filas(rows.get())
+                .bytesSinComprimir(rawBytes.get())
+                .bytesComprimidos(compressedBytes.get())
+                .segundosTranscurridos(TimeUnit.NANOSECONDS.toSeconds(end - startedAtNanos))
+                .mbPorSegundo(rawBytes.get() / 1_048_576d / seconds)
+                .finalizado(isFinished())
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,319 @@
+package com.veterinaria.configuracion.service;
+
+import com.veterinaria.common.cache.CatalogResource;
+import com.veterinaria.common.cache.CatalogVersionRegistry;
+import com.veterinaria.common.cache.ReferenceCacheEvictor;
+import com.veterinaria.common.exception.BusinessException;
+import com.veterinaria.common.exception.ErrorCode;
+import com.veterinaria.common.exception.ResourceNotFoundException;
+import com.veterinaria.config.RolePermissionsChangedEvent;
+import com.veterinaria.configuracion.dto.BackupManifest;
+import com.veterinaria.configuracion.dto.BackupProgressResponse;
+import com.veterinaria.configuracion.dto.BackupResponse;
+import com.veterinaria.configuracion.model.BackupSistema;
+import com.veterinaria.configuracion.model.EstadoBackup;
+import com.veterinaria.configuracion.model.ModoBackup;
+import com.veterinaria.configuracion.repostiroy.BackupSistemaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio de backups del sistema (tabla backups_sistema)
+ *
+ * Responsabilidades:
+ * 1. Registrar el backup y ejecutarlo en segundo plano
+ * 2. Encadenar incrementales con el último backup completado
+ * 3. Exponer el avance mientras corre
+ * 4. Restaurar una cadena en segundo plano e invalidar las cachés que dependen de la BD
+ */
+@Slf4j
+@Service
+public class BackupService {
+
+    private static final DateTimeFormatter DIRECTORY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final BigDecimal BYTES_PER_MB = BigDecimal.valueOf(1_048_576);
+
+    private static final String SQL_ID_USUARIO = "SELECT id_usuario FROM usuarios WHERE username = ?";
+
+    @Autowired
+    private BackupSistemaRepository backupRepository;
+
+    @Autowired
+    private BackupEngine backupEngine;
+
+    @Autowired
+    private ReferenceCacheEvictor referenceCacheEvictor;
+
+    @Autowired
+    private CatalogVersionRegistry catalogVersionRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${veterinaria.backup.directory:./backups}")
+    private String directory;
+
+    @Value("${veterinaria.backup.incremental-overlap-minutes:10}")
+    private long overlapMinutes;
+
+    private final Map<Long, BackupProgress> progress = new ConcurrentHashMap<>();
+    private final Map<Long, BackupProgress> restoreProgress = new ConcurrentHashMap<>();
+    private final AtomicBoolean restoring = new AtomicBoolean();
+
+    // Un backup o restauración a la vez: el paralelismo está dentro del motor
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "backup-coordinator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Marca como FALLIDO los backups que quedaron EN_PROCESO
+     *
+     * Un backup corre en un hilo de esta instancia: si la aplicación se
+     * reinició a mitad de camino, ese registro ya no va a terminar y
+     * bloquearía todos los backups siguientes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void marcarInterrumpidos() {
+        List<BackupSistema> interrumpidos = backupRepository.findByEstado(EstadoBackup.EN_PROCESO);
+        for (BackupSistema backup : interrumpidos) {
+            Map<String, Object> metadata = new LinkedHashMap<>(
+                    backup.getMetadata() == null ? Map.of() : backup.getMetadata());
+            metadata.put("error", "Interrumpido por reinicio de la aplicación");
+            backup.setEstado(EstadoBackup.FALLIDO);
+            backup.setMetadata(metadata);
+            log.warn("Backup {} quedó EN_PROCESO tras un reinicio: se marca FALLIDO", backup.getId());
+        }
+        backupRepository.saveAll(interrumpidos);
+    }
+
+    /**
+     * Registra un backup y lo inicia en segundo plano
+     *
+     * Si se pide INCREMENTAL y no hay un backup completado previo, se hace COMPLETO.
+     *
+     * @param modo           Modo solicitado
+     * @param authentication Usuario que lo solicita (queda en creado_por)
+     * @return Registro en estado EN_PROCESO
+     */
+    public synchronized BackupResponse iniciarBackup(ModoBackup modo, Authentication authentication) {
+        if (backupRepository.existsByEstado(EstadoBackup.EN_PROCESO)) {
+            throw new BusinessException("Ya hay un backup en proceso", "BACKUP_EN_PROCESO");
+        }
+        if (restoring.get()) {
+            throw new BusinessException("Hay una restauración en proceso", "BACKUP_RESTAURANDO");
+        }
+
+        BackupSistema base = modo == ModoBackup.INCREMENTAL
+                ? backupRepository.findFirstByEstadoOrderByIdDesc(EstadoBackup.COMPLETADO).orElse(null)
+                : null;
+        ModoBackup modoEfectivo = base == null ? ModoBackup.COMPLETO : ModoBackup.INCREMENTAL;
+        OffsetDateTime desde = base == null
+                ? null
+                : OffsetDateTime.parse((String) base.getMetadata().get("snapshotTime")).minusMinutes(overlapMinutes);
+
+        Path target = Paths.get(directory).toAbsolutePath().normalize()
+                .resolve("backup-" + OffsetDateTime.now().format(DIRECTORY_FORMAT) + "-" + modoEfectivo.name().toLowerCase());
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("modo", modoEfectivo.name());
+        if (base != null) {
+            metadata.put("backupBaseId", base.getId());
+        }
+
+        BackupSistema backup = backupRepository.save(BackupSistema.builder()
+                .rutaArchivo(target.toString())
+                .estado(EstadoBackup.EN_PROCESO)
+                .metadata(metadata)
+                .creadoPor(idUsuario(authentication))
+                .build());
+
+        BackupProgress backupProgress = new BackupProgress(backup.getId());
+        progress.values().removeIf(BackupProgress::isFinished);
+        progress.put(backup.getId(), backupProgress);
+
+        Long backupBaseId = base == null ? null : base.getId();
+        coordinator.submit(() -> ejecutar(backup.getId(), target, modoEfectivo, desde, backupBaseId, backupProgress));
+
+        return BackupResponse.from(backup);
+    }
+
+    /**
+     * id_usuario del usuario autenticado, o null si no se puede resolver
+     */
+    private Long idUsuario(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        return jdbcTemplate.queryForList(SQL_ID_USUARIO, Long.class, authentication.getName())
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void ejecutar(Long id, Path target, ModoBackup modo, OffsetDateTime desde, Long backupBaseId, BackupProgress backupProgress) {
+        try {
+            BackupManifest manifest = backupEngine.backup(target, modo, desde, backupBaseId, backupProgress);
+            long bytes = manifest.getTablas().stream().mapToLong(BackupManifest.TableEntry::getBytesComprimidos).sum();
+            long filas = manifest.getTablas().stream().mapToLong(BackupManifest.TableEntry::getFilas).sum();
+
+            BackupSistema backup = obtener(id);
+            Map<String, Object> metadata = new LinkedHashMap<>(backup.getMetadata());
+            metadata.put("snapshotTime", manifest.getSnapshotTime().toString());
+            metadata.put("schemaVersion", manifest.getSchemaVersion());
+            if (desde != null) {
+                metadata.put("desde", desde.toString());
+            }
+            metadata.put("tablas", manifest.getTablas().size());
+            metadata.put("filas", filas);
+            metadata.put("duracionMs", manifest.getDuracionMs());
+
+            backup.setEstado(EstadoBackup.COMPLETADO);
+            backup.setTamanioMb(BigDecimal.valueOf(bytes).divide(BYTES_PER_MB, 2, RoundingMode.HALF_UP));
+            backup.setMetadata(metadata);
+            backupRepository.save(backup);
+        } catch (Exception ex) {
+            log.error("Backup {} falló", id, ex);
+            backupRepository.findById(id).ifPresent(backup -> {
+                Map<String, Object> metadata = new LinkedHashMap<>(backup.getMetadata());
+                metadata.put("error", String.valueOf(ex.getMessage()));
+                backup.setEstado(EstadoBackup.FALLIDO);
+                backup.setMetadata(metadata);
+                backupRepository.save(backup);
+            });
+        } finally {
+            backupProgress.finish();
+        }
+    }
+
+    public BackupResponse obtenerBackup(Long id) {
+        return BackupResponse.from(obtener(id));
+    }
+
+    /**
+     * Avance del backup (solo mientras el proceso vive en esta instancia)
+     */
+    public BackupProgressResponse obtenerProgreso(Long id) {
+        BackupProgress backupProgress = progress.get(id);
+        if (backupProgress == null) {
+            throw new ResourceNotFoundException("Progreso de backup", "id", id);
+        }
+        return backupProgress.toResponse();
+    }
+
+    /**
+     * Avance de la última restauración del backup (solo en esta instancia)
+     */
+    public BackupProgressResponse obtenerProgresoRestauracion(Long id) {
+        BackupProgress backupProgress = restoreProgress.get(id);
+        if (backupProgress == null) {
+            throw new ResourceNotFoundException("Restauración de backup", "id", id);
+        }
+        return backupProgress.toResponse();
+    }
+
+    /**
+     * Inicia en segundo plano la restauración del backup y de los anteriores
+     * de su cadena hasta el último COMPLETO
+     *
+     * Operación de mantenimiento: reemplaza el contenido de todas las tablas.
+     * La cadena se valida antes de responder; checksums y versión de esquema
+     * se validan ya en segundo plano y, si fallan, quedan en el avance.
+     *
+     * @param id Backup a restaurar (COMPLETADO)
+     * @return Avance inicial de la restauración
+     */
+    public synchronized BackupProgressResponse restaurar(Long id) {
+        if (backupRepository.existsByEstado(EstadoBackup.EN_PROCESO)) {
+            throw new BusinessException("No se puede restaurar mientras hay un backup en proceso", "BACKUP_EN_PROCESO");
+        }
+        if (restoring.get()) {
+            throw new BusinessException("Ya hay una restauración en proceso", "BACKUP_RESTAURANDO");
+        }
+
+        List<Path> chain = new ArrayList<>();
+        BackupSistema current = obtener(id);
+        while (true) {
+            if (current.getEstado() != EstadoBackup.COMPLETADO) {
+                throw new BusinessException("El backup " + current.getId() + " no está completado", "BACKUP_NO_COMPLETADO");
+            }
+            chain.add(Paths.get(current.getRutaArchivo()));
+            Object baseId = current.getMetadata().get("backupBaseId");
+            if (!ModoBackup.INCREMENTAL.name().equals(current.getMetadata().get("modo")) || baseId == null) {
+                break;
+            }
+            current = obtener(((Number) baseId).longValue());
+        }
+        Collections.reverse(chain);
+
+        BackupProgress backupProgress = new BackupProgress(id);
+        restoreProgress.values().removeIf(BackupProgress::isFinished);
+        restoreProgress.put(id, backupProgress);
+
+        restoring.set(true);
+        coordinator.submit(() -> ejecutarRestauracion(id, chain, backupProgress));
+
+        return backupProgress.toResponse();
+    }
+
+    private void ejecutarRestauracion(Long id, List<Path> chain, BackupProgress backupProgress) {
+        try {
+            backupEngine.restore(chain, backupProgress);
+
+            // Los datos cambiaron por debajo de Hibernate y de las cachés HTTP
+            referenceCacheEvictor.evictAll();
+            for (CatalogResource resource : CatalogResource.values()) {
+                catalogVersionRegistry.bump(resource);
+            }
+            eventPublisher.publishEvent(new RolePermissionsChangedEvent("restauracion-backup"));
+        } catch (BusinessException ex) {
+            log.warn("Restauración del backup {} rechazada: {}", id, ex.getMessage());
+            backupProgress.fail(ex.getMessage());
+        } catch (Exception ex) {
+            // El detalle (SQL, rutas) queda en el log, no en la respuesta
+            log.error("Restauración del backup {} falló", id, ex);
+            backupProgress.fail(ErrorCode.INTERNAL_ERROR.getDefaultMessage());
+        } finally {
+            backupProgress.finish();
+            restoring.set(false);
+        }
+    }
+
+    private BackupSistema obtener(Long id) {
+        return backupRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Backup", "id", id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+}
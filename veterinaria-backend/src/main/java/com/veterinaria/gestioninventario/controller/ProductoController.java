@@ -0,0 +1,37 @@
+package com.veterinaria.gestioninventario.controller;
+
+import com.veterinaria.common.dto.ApiResponse;
+import com.veterinaria.common.dto.PageResponse;
+import com.veterinaria.gestioninventario.service.ProductoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/productos")
+public class ProductoController {
+
+    @Autowired
+    private ProductoService productoService;
+
+    /**
+     * Lista productos
+     *
+     * Ejemplo: GET /api/productos?fields=nombre,stock&page=0&size=20
+     */
+    @GetMapping
+    @PreAuthorize("hasPermission('INVENTARIO', 'READ')")
+    public ResponseEntity<ApiResponse<PageResponse<Map<String, Object>>>> listar(
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(productoService.listar(fields, page, size)));
+    }
+}
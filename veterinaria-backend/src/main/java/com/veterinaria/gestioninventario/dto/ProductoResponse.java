@@ -0,0 +1,48 @@
+package com.veterinaria.gestioninventario.dto;
+
+import com.veterinaria.gestioninventario.model.Producto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoResponse {
+
+    private Long id;
+    private String sku;
+    private String nombre;
+    private String descripcion;
+    private String tipo;
+    private Integer stock;
+    private BigDecimal precioUnitario;
+    private String um;
+    private Map<String, Object> metadatos;
+    private Boolean activo;
+    private OffsetDateTime fechaCreacion;
+    private OffsetDateTime fechaActualizacion;
+
+    public static ProductoResponse from(Producto producto) {
+        return ProductoResponse.builder()
+                .id(producto.getId())
+                .sku(producto.getSku())
+                .nombre(producto.getNombre())
+                .descripcion(producto.getDescripcion())
+                .tipo(producto.getTipo())
+                .stock(producto.getStock())
+                .precioUnitario(producto.getPrecioUnitario())
+                .um(producto.getUm())
+                .metadatos(producto.getMetadatos())
+                .activo(producto.getActivo())
+                .fechaCreacion(producto.getFechaCreacion())
+                .fechaActualizacion(producto.getFechaActualizacion())
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.veterinaria.gestioninventario.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Producto del inventario (medicamentos, insumos, alimentos, accesorios)
+ *
+ * Sin caché de segundo nivel: el stock cambia con cada movimiento.
+ * Los listados usan ProductoProjection; la entidad es para escrituras.
+ */
+@Entity
+@Table(name = "productos")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Producto {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_producto")
+    private Long id;
+
+    @Column(name = "sku", nullable = false, unique = true, length = 60)
+    private String sku;
+
+    @Column(name = "nombre", nullable = false, length = 150)
+    private String nombre;
+
+    @Column(name = "descripcion", columnDefinition = "TEXT")
+    private String descripcion;
+
+    // medicamento, insumo, alimento, accesorio
+    @Column(name = "tipo", nullable = false, length = 50)
+    private String tipo;
+
+    @Column(name = "stock", nullable = false)
+    private Integer stock;
+
+    @Column(name = "precio_unitario", nullable = false, precision = 12, scale = 2)
+    private BigDecimal precioUnitario;
+
+    // Unidad de medida: unidad, ml, gr, kg
+    @Column(name = "um", nullable = false, length = 20)
+    private String um;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "metadatos", columnDefinition = "jsonb")
+    private Map<String, Object> metadatos;
+
+    @Column(name = "activo")
+    private Boolean activo;
+
+    @Column(name = "fecha_creacion")
+    private OffsetDateTime fechaCreacion;
+
+    @Column(name = "fecha_actualizacion")
+    private OffsetDateTime fechaActualizacion;
+
+    @PrePersist
+    void prePersist() {
+        if (fechaCreacion == null) {
+            fechaCreacion = OffsetDateTime.now();
+        }
+        fechaActualizacion = fechaCreacion;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        fechaActualizacion = OffsetDateTime.now();
+    }
+}
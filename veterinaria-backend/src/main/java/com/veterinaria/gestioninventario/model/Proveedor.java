@@ -0,0 +1,78 @@
+package com.veterinaria.gestioninventario.model;
+
+import com.veterinaria.common.constants.CacheRegions;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Proveedor de productos del inventario
+ */
+@Entity
+@Table(name = "proveedores")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROVEEDORES)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Proveedor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_proveedor")
+    private Long id;
+
+    @Column(name = "nombre", nullable = false, length = 150)
+    private String nombre;
+
+    @Column(name = "contacto", length = 100)
+    private String contacto;
+
+    @Column(name = "telefono", length = 30)
+    private String telefono;
+
+    @Column(name = "direccion")
+    private String direccion;
+
+    @Column(name = "correo", length = 150)
+    private String correo;
+
+    @Column(name = "activo")
+    private Boolean activo;
+
+    @Column(name = "fecha_creacion")
+    private OffsetDateTime fechaCreacion;
+
+    @Column(name = "fecha_actualizacion")
+    private OffsetDateTime fechaActualizacion;
+
+    @PrePersist
+    void prePersist() {
+        if (fechaCreacion == null) {
+            fechaCreacion = OffsetDateTime.now();
+        }
+        fechaActualizacion = fechaCreacion;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        fechaActualizacion = OffsetDateTime.now();
+    }
+}
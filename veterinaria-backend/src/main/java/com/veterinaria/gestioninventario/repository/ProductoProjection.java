@@ -0,0 +1,29 @@
+package com.veterinaria.gestioninventario.repository;
+
+import com.veterinaria.common.projection.ProjectionSpec;
+
+/**
+ * Campos de productos disponibles con ?fields=
+ */
+public final class ProductoProjection {
+
+    public static final ProjectionSpec SPEC = ProjectionSpec.builder("productos", "productos")
+            .id("id", "id_producto")
+            .field("sku", "sku")
+            .field("nombre", "nombre")
+            .field("descripcion", "descripcion")
+            .field("tipo", "tipo")
+            .field("stock", "stock")
+            .field("precioUnitario", "precio_unitario")
+            .field("um", "um")
+            .json("metadatos", "metadatos")
+            .field("activo", "activo")
+            .timestamp("fechaCreacion", "fecha_creacion")
+            .timestamp("fechaActualizacion", "fecha_actualizacion")
+            .defaults("sku", "nombre", "tipo", "stock", "precioUnitario", "um", "activo")
+            .build();
+
+    private ProductoProjection() {
+        // Prevenir instanciación
+    }
+}
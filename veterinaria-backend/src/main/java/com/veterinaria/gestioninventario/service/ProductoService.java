@@ -0,0 +1,39 @@
+package com.veterinaria.gestioninventario.service;
+
+import com.veterinaria.common.dto.PageResponse;
+import com.veterinaria.common.projection.FieldSelection;
+import com.veterinaria.common.projection.ProjectionQueryExecutor;
+import com.veterinaria.gestioninventario.repository.ProductoProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+public class ProductoService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ProjectionQueryExecutor projectionQueryExecutor;
+
+    /**
+     * Lista productos seleccionando solo los campos pedidos
+     *
+     * @param fields Campos separados por coma (null = campos por defecto)
+     * @param page   Página (desde 0)
+     * @param size   Tamaño de página (máximo 100)
+     * @return Página de productos proyectados
+     */
+    public PageResponse<Map<String, Object>> listar(String fields, int page, int size) {
+        FieldSelection selection = FieldSelection.parse(fields, ProductoProjection.SPEC);
+        return projectionQueryExecutor.findPage(
+                selection,
+                null,
+                null,
+                "nombre, id_producto",
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE)
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.veterinaria.gestionpacientes.controller;
+
+import com.veterinaria.common.dto.ApiResponse;
+import com.veterinaria.common.dto.PageResponse;
+import com.veterinaria.gestionpacientes.service.RegistroMedicoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/historias-clinicas/{historiaId}/registros-medicos")
+public class RegistroMedicoController {
+
+    @Autowired
+    private RegistroMedicoService registroMedicoService;
+
+    /**
+     * Lista los registros médicos de una historia clínica
+     *
+     * Los clientes solo pueden consultar historias de sus propios pacientes.
+     *
+     * Ejemplo: GET /api/historias-clinicas/7/registros-medicos?fields=fecha,motivo,diagnostico
+     */
+    @GetMapping
+    @PreAuthorize("hasPermission('PACIENTES', 'READ')")
+    public ResponseEntity<ApiResponse<PageResponse<Map<String, Object>>>> listar(
+            Authentication authentication,
+            @PathVariable Long historiaId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(
+                registroMedicoService.listarPorHistoria(authentication, historiaId, fields, page, size)));
+    }
+}
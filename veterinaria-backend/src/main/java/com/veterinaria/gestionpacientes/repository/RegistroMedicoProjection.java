@@ -0,0 +1,31 @@
+package com.veterinaria.gestionpacientes.repository;
+
+import com.veterinaria.common.projection.ProjectionSpec;
+
+/**
+ * Campos de registros_medicos disponibles con ?fields=
+ *
+ * Los campos TEXT/JSONB anchos (diagnostico, tratamiento, signosVitales...)
+ * no están en los campos por defecto: solo se leen si se piden.
+ */
+public final class RegistroMedicoProjection {
+
+    public static final ProjectionSpec SPEC = ProjectionSpec.builder("registros-medicos", "registros_medicos")
+            .id("id", "id_registro")
+            .field("historiaId", "historia_id")
+            .timestamp("fecha", "fecha")
+            .field("motivo", "motivo")
+            .field("diagnostico", "diagnostico")
+            .json("signosVitales", "signos_vitales")
+            .field("tratamiento", "tratamiento")
+            .field("veterinarioId", "veterinario_id")
+            .json("insumosUsados", "insumos_usados")
+            .json("archivosAdjuntos", "archivos_adjuntos")
+            .field("observaciones", "observaciones")
+            .defaults("historiaId", "fecha", "motivo", "veterinarioId")
+            .build();
+
+    private RegistroMedicoProjection() {
+        // Prevenir instanciación
+    }
+}
@@ -0,0 +1,95 @@
+package com.veterinaria.gestionpacientes.service;
+
+import com.veterinaria.common.constants.SecurityConstants;
+import com.veterinaria.common.dto.PageResponse;
+import com.veterinaria.common.exception.ResourceNotFoundException;
+import com.veterinaria.common.projection.FieldSelection;
+import com.veterinaria.common.projection.ProjectionQueryExecutor;
+import com.veterinaria.gestionpacientes.repository.RegistroMedicoProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class RegistroMedicoService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Personal de la clínica: puede leer cualquier historia
+    private static final Set<String> STAFF_ROLES = Set.of(
+            SecurityConstants.ROLE_ADMIN,
+            SecurityConstants.ROLE_VETERINARIO,
+            SecurityConstants.ROLE_SECRETARIO
+    );
+
+    private static final String SQL_ES_PROPIETARIO =
+            "SELECT EXISTS (SELECT 1 FROM historias_clinicas h "
+                    + "JOIN pacientes p ON p.id_paciente = h.paciente_id "
+                    + "JOIN clientes c ON c.id_cliente = p.cliente_id "
+                    + "JOIN usuarios u ON u.id_usuario = c.usuario_id "
+                    + "WHERE h.id_historia = :historiaId AND u.username = :username)";
+
+    @Autowired
+    private ProjectionQueryExecutor projectionQueryExecutor;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Lista los registros médicos de una historia clínica (más recientes primero)
+     *
+     * Un cliente solo ve las historias de sus propios pacientes; para
+     * cualquier otra responde 404, sin revelar si la historia existe.
+     *
+     * @param authentication Usuario que consulta
+     * @param historiaId Historia clínica
+     * @param fields     Campos separados por coma (null = campos por defecto)
+     * @param page       Página (desde 0)
+     * @param size       Tamaño de página (máximo 100)
+     * @return Página de registros proyectados
+     */
+    public PageResponse<Map<String, Object>> listarPorHistoria(
+            Authentication authentication,
+            Long historiaId,
+            String fields,
+            int page,
+            int size
+    ) {
+        if (!isStaff(authentication) && !esPropietario(authentication.getName(), historiaId)) {
+            throw new ResourceNotFoundException("Historia clínica", "id", historiaId);
+        }
+
+        FieldSelection selection = FieldSelection.parse(fields, RegistroMedicoProjection.SPEC);
+        return projectionQueryExecutor.findPage(
+                selection,
+                "historia_id = :historiaId",
+                Map.of("historiaId", historiaId),
+                "fecha DESC, id_registro DESC",
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE)
+        );
+    }
+
+    private boolean isStaff(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String role = authority.getAuthority();
+            if (STAFF_ROLES.contains(role.startsWith("ROLE_") ? role.substring(5) : role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean esPropietario(String username, Long historiaId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                SQL_ES_PROPIETARIO,
+                Map.of("historiaId", historiaId, "username", username),
+                Boolean.class
+        ));
+    }
+}
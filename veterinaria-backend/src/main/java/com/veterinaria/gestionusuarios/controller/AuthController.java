@@ -0,0 +1,59 @@
+package com.veterinaria.gestionusuarios.controller;
+
+import com.veterinaria.common.constants.SecurityConstants;
+import com.veterinaria.common.dto.ApiResponse;
+import com.veterinaria.config.JwtTokenProvider;
+import com.veterinaria.gestionusuarios.dto.LoginRequest;
+import com.veterinaria.gestionusuarios.dto.LoginResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/auth")
+public class AuthController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * Autentica con usuario y contraseña y devuelve un JWT
+     *
+     * Pasa por LoginThrottlingFilter (IP), ThrottledAuthenticationProvider
+     * (usuario + IP) y BoundedPasswordEncoder (BCrypt en pool acotado).
+     *
+     * Ejemplo: POST /api/auth/login {"username": "admin", "password": "..."}
+     */
+    @PostMapping("/login")
+    public ResponseEntity<ApiResponse<LoginResponse>> login(
+            @Valid @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request
+    ) {
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(
+                loginRequest.getUsername(), loginRequest.getPassword());
+        token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        Authentication authentication = authenticationManager.authenticate(token);
+
+        LoginResponse response = LoginResponse.builder()
+                .token(jwtTokenProvider.generateToken(authentication))
+                .tipo(SecurityConstants.JWT_TOKEN_PREFIX.trim())
+                .username(authentication.getName())
+                .roles(authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .build();
+        return ResponseEntity.ok(ApiResponse.success("Login exitoso", response));
+    }
+}
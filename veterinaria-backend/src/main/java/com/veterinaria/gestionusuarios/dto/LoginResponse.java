@@ -0,0 +1,20 @@
+package com.veterinaria.gestionusuarios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginResponse {
+
+    private String token;
+    private String tipo;
+    private String username;
+    private List<String> roles;
+}
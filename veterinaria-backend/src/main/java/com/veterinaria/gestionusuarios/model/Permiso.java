@@ -0,0 +1,64 @@
+package com.veterinaria.gestionusuarios.model;
+
+import com.veterinaria.common.constants.CacheRegions;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Permiso recurso + acción (ej: CITAS / CANCEL)
+ *
+ * La asignación a roles vive en rol_permiso (ver PermissionSnapshot).
+ */
+@Entity
+@Table(name = "permisos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERMISOS)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Permiso {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_permiso")
+    private Long id;
+
+    @Column(name = "nombre", nullable = false, unique = true, length = 100)
+    private String nombre;
+
+    @Column(name = "descripcion")
+    private String descripcion;
+
+    @Column(name = "recurso", nullable = false, length = 100)
+    private String recurso;
+
+    @Column(name = "accion", nullable = false, length = 50)
+    private String accion;
+
+    @Column(name = "fecha_creacion")
+    private OffsetDateTime fechaCreacion;
+
+    @PrePersist
+    void prePersist() {
+        if (fechaCreacion == null) {
+            fechaCreacion = OffsetDateTime.now();
+        }
+    }
+}
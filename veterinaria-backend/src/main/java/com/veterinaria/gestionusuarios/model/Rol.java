@@ -0,0 +1,68 @@
+package com.veterinaria.gestionusuarios.model;
+
+import com.veterinaria.common.constants.CacheRegions;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Rol de usuario (ADMIN, VETERINARIO, SECRETARIO, CLIENTE)
+ *
+ * Tabla de referencia: se lee en cada autorización y casi no cambia.
+ */
+@Entity
+@Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLES)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rol {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_rol")
+    private Long id;
+
+    @Column(name = "nombre_rol", nullable = false, unique = true, length = 50)
+    private String nombreRol;
+
+    @Column(name = "descripcion")
+    private String descripcion;
+
+    @Column(name = "fecha_creacion")
+    private OffsetDateTime fechaCreacion;
+
+    @Column(name = "fecha_actualizacion")
+    private OffsetDateTime fechaActualizacion;
+
+    @PrePersist
+    void prePersist() {
+        if (fechaCreacion == null) {
+            fechaCreacion = OffsetDateTime.now();
+        }
+        fechaActualizacion = fechaCreacion;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        fechaActualizacion = OffsetDateTime.now();
+    }
+}
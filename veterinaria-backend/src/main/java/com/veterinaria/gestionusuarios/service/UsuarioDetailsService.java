@@ -0,0 +1,43 @@
+package com.veterinaria.gestionusuarios.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Carga usuarios para Spring Security desde usuarios + roles
+ *
+ * La usan el login (ThrottledAuthenticationProvider) y el filtro JWT.
+ * El rol se expone como ROLE_<nombre_rol>; BitSetPermissionEvaluator
+ * acepta el nombre con y sin prefijo.
+ */
+@Service
+public class UsuarioDetailsService implements UserDetailsService {
+
+    private static final String SQL_USUARIO =
+            "SELECT u.username, u.password_hash, COALESCE(u.activo, TRUE), r.nombre_rol "
+                    + "FROM usuarios u JOIN roles r ON r.id_rol = u.rol_id WHERE u.username = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        List<UserDetails> usuarios = jdbcTemplate.query(SQL_USUARIO, (rs, rowNum) -> User.withUsername(rs.getString(1))
+                .password(rs.getString(2))
+                .disabled(!rs.getBoolean(3))
+                .roles(rs.getString(4))
+                .build(), username);
+
+        if (usuarios.isEmpty()) {
+            throw new UsernameNotFoundException("Usuario no encontrado: " + username);
+        }
+        return usuarios.get(0);
+    }
+}
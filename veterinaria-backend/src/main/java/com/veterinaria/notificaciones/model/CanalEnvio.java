@@ -0,0 +1,78 @@
+package com.veterinaria.notificaciones.model;
+
+import com.veterinaria.common.constants.CacheRegions;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Canal de envío de notificaciones (EMAIL, SMS, APP) con su configuración
+ */
+@Entity
+@Table(name = "canales_envio")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CANALES_ENVIO)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CanalEnvio {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_canal")
+    private Long id;
+
+    @Column(name = "nombre", nullable = false, unique = true, length = 50)
+    private String nombre;
+
+    // EMAIL, SMS, APP
+    @Column(name = "tipo", nullable = false, length = 20)
+    private String tipo;
+
+    // Servidor, puerto, credenciales... según el tipo
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "configuracion", nullable = false, columnDefinition = "jsonb")
+    private Map<String, Object> configuracion;
+
+    @Column(name = "activo")
+    private Boolean activo;
+
+    @Column(name = "fecha_creacion")
+    private OffsetDateTime fechaCreacion;
+
+    @Column(name = "fecha_actualizacion")
+    private OffsetDateTime fechaActualizacion;
+
+    @PrePersist
+    void prePersist() {
+        if (fechaCreacion == null) {
+            fechaCreacion = OffsetDateTime.now();
+        }
+        fechaActualizacion = fechaCreacion;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        fechaActualizacion = OffsetDateTime.now();
+    }
+}
@@ -0,0 +1,83 @@
+package com.veterinaria.notificaciones.model;
+
+import com.veterinaria.common.constants.CacheRegions;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Plantilla de mensaje con variables (ej: nombre_cliente, fecha_cita)
+ */
+@Entity
+@Table(name = "plantillas_mensaje")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PLANTILLAS_MENSAJE)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlantillaMensaje {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_plantilla")
+    private Long id;
+
+    @Column(name = "nombre", nullable = false, unique = true, length = 100)
+    private String nombre;
+
+    @Column(name = "asunto", length = 150)
+    private String asunto;
+
+    @Column(name = "cuerpo", nullable = false, columnDefinition = "TEXT")
+    private String cuerpo;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "variables", columnDefinition = "jsonb")
+    private List<String> variables;
+
+    // EMAIL, SMS, APP
+    @Column(name = "canal_tipo", nullable = false, length = 20)
+    private String canalTipo;
+
+    @Column(name = "activo")
+    private Boolean activo;
+
+    @Column(name = "fecha_creacion")
+    private OffsetDateTime fechaCreacion;
+
+    @Column(name = "fecha_actualizacion")
+    private OffsetDateTime fechaActualizacion;
+
+    @PrePersist
+    void prePersist() {
+        if (fechaCreacion == null) {
+            fechaCreacion = OffsetDateTime.now();
+        }
+        fechaActualizacion = fechaCreacion;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        fechaActualizacion = OffsetDateTime.now();
+    }
+}
@@ -0,0 +1,44 @@
+package com.veterinaria.prestacioneservicios.controller;
+
+import com.veterinaria.common.dto.ApiResponse;
+import com.veterinaria.prestacioneservicios.dto.ServicioResponse;
+import com.veterinaria.prestacioneservicios.service.ServicioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/servicios")
+public class ServicioController {
+
+    @Autowired
+    private ServicioService servicioService;
+
+    /**
+     * Lista los servicios activos
+     *
+     * Ejemplo: GET /api/servicios
+     */
+    @GetMapping
+    @PreAuthorize("hasPermission('SERVICIOS', 'READ')")
+    public ResponseEntity<ApiResponse<List<ServicioResponse>>> listar() {
+        return ResponseEntity.ok(ApiResponse.success(servicioService.listarActivos()));
+    }
+
+    /**
+     * Obtiene un servicio
+     *
+     * Ejemplo: GET /api/servicios/3
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasPermission('SERVICIOS', 'READ')")
+    public ResponseEntity<ApiResponse<ServicioResponse>> obtener(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(servicioService.obtener(id)));
+    }
+}
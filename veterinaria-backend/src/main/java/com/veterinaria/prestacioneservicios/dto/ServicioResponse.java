@@ -0,0 +1,36 @@
+package com.veterinaria.prestacioneservicios.dto;
+
+import com.veterinaria.prestacioneservicios.model.Servicio;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServicioResponse {
+
+    private Long id;
+    private String nombre;
+    private String descripcion;
+    private String tipo;
+    private BigDecimal precioBase;
+    private Integer duracionMin;
+    private Boolean activo;
+
+    public static ServicioResponse from(Servicio servicio) {
+        return ServicioResponse.builder()
+                .id(servicio.getId())
+                .nombre(servicio.getNombre())
+                .descripcion(servicio.getDescripcion())
+                .tipo(servicio.getTipo())
+                .precioBase(servicio.getPrecioBase())
+                .duracionMin(servicio.getDuracionMin())
+                .activo(servicio.getActivo())
+                .build();
+    }
+}
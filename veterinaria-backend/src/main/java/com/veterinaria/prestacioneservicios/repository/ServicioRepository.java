@@ -0,0 +1,23 @@
+package com.veterinaria.prestacioneservicios.repository;
+
+import com.veterinaria.prestacioneservicios.model.Servicio;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ServicioRepository extends JpaRepository<Servicio, Long> {
+
+    /**
+     * Servicios activos ordenados por nombre
+     *
+     * Va a la caché de consultas: los ids salen de ahí y las entidades de la
+     * región de servicios, así que una segunda lectura no toca la BD.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Servicio> findByActivoTrueOrderByNombreAsc();
+}
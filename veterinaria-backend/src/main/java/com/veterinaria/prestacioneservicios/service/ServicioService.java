@@ -0,0 +1,45 @@
+package com.veterinaria.prestacioneservicios.service;
+
+import com.veterinaria.common.exception.ResourceNotFoundException;
+import com.veterinaria.prestacioneservicios.dto.ServicioResponse;
+import com.veterinaria.prestacioneservicios.repository.ServicioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Consulta del catálogo de servicios
+ *
+ * Servicio es una entidad de referencia con caché de segundo nivel:
+ * después de la primera carga, listar y obtener se sirven desde memoria.
+ */
+@Service
+public class ServicioService {
+
+    @Autowired
+    private ServicioRepository servicioRepository;
+
+    /**
+     * Lista los servicios activos ordenados por nombre
+     */
+    @Transactional(readOnly = true)
+    public List<ServicioResponse> listarActivos() {
+        return servicioRepository.findByActivoTrueOrderByNombreAsc().stream()
+                .map(ServicioResponse::from)
+                .toList();
+    }
+
+    /**
+     * Obtiene un servicio por id
+     *
+     * @throws ResourceNotFoundException si no existe
+     */
+    @Transactional(readOnly = true)
+    public ServicioResponse obtener(Long id) {
+        return servicioRepository.findById(id)
+                .map(ServicioResponse::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Servicio", "id", id));
+    }
+}
@@ -0,0 +1,15 @@
+-- ============================================
+-- movimientos_inventario.fecha_registro
+-- ============================================
+-- "fecha" es la fecha de negocio del movimiento y se puede registrar con
+-- fecha pasada; los backups incrementales necesitan el momento de inserción.
+-- La aplicación no asigna esta columna: siempre toma el DEFAULT.
+-- Las filas existentes quedan con la hora de la migración, así el primer
+-- incremental posterior las vuelve a incluir (la restauración no duplica).
+
+ALTER TABLE movimientos_inventario
+    ADD COLUMN fecha_registro TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_movimientos_fecha_registro ON movimientos_inventario(fecha_registro);
+
+COMMENT ON COLUMN movimientos_inventario.fecha_registro IS 'Momento de inserción (marca de agua de backups incrementales)';
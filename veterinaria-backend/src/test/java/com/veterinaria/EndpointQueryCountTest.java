@@ -0,0 +1,124 @@
+package com.veterinaria;
+
+import com.veterinaria.support.SqlAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Número de sentencias SQL de los listados principales, por request
+ *
+ * Fija el costo en BD de cada endpoint: si un cambio agrega consultas
+ * (un N+1, un COUNT de más) el test falla con las formas ejecutadas.
+ * La caché HTTP se desactiva para medir siempre el camino a la BD.
+ * Se omite si no hay Docker disponible.
+ */
+@SpringBootTest(properties = "veterinaria.http-cache.enabled=false")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class EndpointQueryCountTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long historiaId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM registros_medicos");
+        jdbcTemplate.update("DELETE FROM historias_clinicas");
+        jdbcTemplate.update("DELETE FROM pacientes");
+        jdbcTemplate.update("DELETE FROM clientes");
+        jdbcTemplate.update("DELETE FROM veterinarios");
+        jdbcTemplate.update("DELETE FROM usuarios WHERE username <> 'admin'");
+        jdbcTemplate.update("DELETE FROM productos");
+
+        jdbcTemplate.update("INSERT INTO productos (sku, nombre, tipo, stock, precio_unitario, um) "
+                + "SELECT 'PRD-' || i, 'Producto ' || i, 'insumo', i, 1000, 'unidad' FROM generate_series(1, 30) i");
+
+        jdbcTemplate.update("INSERT INTO usuarios (username, password_hash, rol_id, tipo_usuario, nombre, apellido, correo) "
+                + "VALUES ('dueno', 'x', 4, 'CLIENTE', 'Laura', 'Gómez', 'laura@correo.co')");
+        jdbcTemplate.update("INSERT INTO clientes (usuario_id) SELECT id_usuario FROM usuarios WHERE username = 'dueno'");
+        jdbcTemplate.update("INSERT INTO veterinarios (usuario_id) SELECT id_usuario FROM usuarios WHERE username = 'admin'");
+        jdbcTemplate.update("INSERT INTO pacientes (nombre, especie, fecha_nacimiento, cliente_id) "
+                + "SELECT 'Toby', 'perro', DATE '2020-05-01', id_cliente FROM clientes");
+        historiaId = jdbcTemplate.queryForObject(
+                "INSERT INTO historias_clinicas (paciente_id) SELECT id_paciente FROM pacientes RETURNING id_historia",
+                Long.class);
+        jdbcTemplate.update("INSERT INTO registros_medicos (historia_id, fecha, motivo, veterinario_id) "
+                + "SELECT ?, now() - i * interval '1 day', 'Control ' || i, (SELECT id_veterinario FROM veterinarios) "
+                + "FROM generate_series(1, 25) i", historiaId);
+    }
+
+    @Test
+    void productosFullPageRunsSelectAndCount() throws Exception {
+        SqlAssertions.assertStatementCount(2, () -> mockMvc.perform(get("/productos").param("size", "20").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(30)));
+    }
+
+    @Test
+    void productosPartialPageSkipsCount() throws Exception {
+        SqlAssertions.assertStatementCount(1, () -> mockMvc.perform(get("/productos").param("size", "50").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(30)));
+    }
+
+    @Test
+    void registrosMedicosForStaffRunSelectAndCount() throws Exception {
+        SqlAssertions.assertStatementCount(2, () -> mockMvc.perform(registros().with(user("vet").roles("VETERINARIO")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(25)));
+    }
+
+    @Test
+    void registrosMedicosForOwnerAddOnlyTheOwnershipCheck() throws Exception {
+        SqlAssertions.assertStatementCount(3, () -> mockMvc.perform(registros().with(user("dueno").roles("CLIENTE")))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void listingsHaveNoRepeatedStatements() throws Exception {
+        SqlAssertions.assertNoNPlusOne(() -> {
+            mockMvc.perform(get("/productos").param("fields", "nombre,stock,metadatos").with(admin()));
+            mockMvc.perform(registros().param("fields", "fecha,motivo,signosVitales").with(admin()));
+        });
+    }
+
+    private MockHttpServletRequestBuilder registros() {
+        return get("/historias-clinicas/{historiaId}/registros-medicos", historiaId).param("size", "20");
+    }
+
+    private RequestPostProcessor admin() {
+        return user("admin").roles("ADMIN");
+    }
+}
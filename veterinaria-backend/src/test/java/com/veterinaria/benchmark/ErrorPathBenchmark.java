@@ -0,0 +1,133 @@
+package com.veterinaria.benchmark;
+
+import com.veterinaria.common.dto.ErrorResponse;
+import com.veterinaria.common.exception.BusinessException;
+import com.veterinaria.common.exception.GlobalExceptionHandler;
+import com.veterinaria.common.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: throughput del camino de error esperado (404 / regla de negocio)
+ *
+ * "legacy" reproduce el comportamiento anterior: excepción con stack trace
+ * y mensaje con String.format. Las clases legacy extienden las actuales y
+ * capturan el stack en un campo (el constructor de la base ya no lo
+ * permite), así ambas variantes pasan por el mismo método del
+ * GlobalExceptionHandler y solo difiere el costo de crear la excepción.
+ * La excepción se lanza a {@code depth} frames de profundidad (un request
+ * en Spring MVC + filtros supera los 100).
+ *
+ * Ejecutar con: mvn test-compile y luego el main de esta clase
+ * (agregar -prof gc para ver la asignación por operación)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"20", "120"})
+    public int depth;
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("GET", "/api/productos/42");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> legacyNotFound() {
+        return notFound(() -> new LegacyResourceNotFoundException("Producto", "id", 42L));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> stacklessNotFound() {
+        return notFound(() -> new ResourceNotFoundException("Producto", "id", 42L));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> legacyBusiness() {
+        return business(() -> new LegacyBusinessException("Stock insuficiente", "STOCK_INSUFICIENTE"));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> stacklessBusiness() {
+        return business(() -> new BusinessException("Stock insuficiente", "STOCK_INSUFICIENTE"));
+    }
+
+    private ResponseEntity<ErrorResponse> notFound(ExceptionFactory factory) {
+        try {
+            throwAt(depth, factory);
+            return null;
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleResourceNotFoundException(ex, request);
+        }
+    }
+
+    private ResponseEntity<ErrorResponse> business(ExceptionFactory factory) {
+        try {
+            throwAt(depth, factory);
+            return null;
+        } catch (BusinessException ex) {
+            return handler.handleBusinessException(ex, request);
+        }
+    }
+
+    private static void throwAt(int frames, ExceptionFactory factory) {
+        if (frames == 0) {
+            throw factory.create();
+        }
+        throwAt(frames - 1, factory);
+    }
+
+    @FunctionalInterface
+    private interface ExceptionFactory {
+        RuntimeException create();
+    }
+
+    // Versión anterior de ResourceNotFoundException: String.format + stack trace
+    private static class LegacyResourceNotFoundException extends ResourceNotFoundException {
+        private final Throwable stackTrace = new Throwable();
+
+        LegacyResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
+            super(String.format("%s no encontrado con %s : '%s'", resourceName, fieldName, fieldValue));
+        }
+    }
+
+    // Versión anterior de BusinessException (con stack trace)
+    private static class LegacyBusinessException extends BusinessException {
+        private final Throwable stackTrace = new Throwable();
+
+        LegacyBusinessException(String message, String errorCode) {
+            super(message, errorCode);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ErrorPathBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.veterinaria.benchmark;
+
+import com.veterinaria.config.BitSetPermissionEvaluator;
+import com.veterinaria.config.PermissionSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: verificación de permisos con bits vs recorrer colecciones
+ *
+ * Los datos son sintéticos (8 recursos x 5 acciones, sin BD); el reparto
+ * por rol imita el seed de V1: ADMIN todo, VETERINARIO y SECRETARIO un
+ * subconjunto.
+ * "collection" reproduce la verificación típica sobre entidades
+ * (rol.getPermisos().stream().anyMatch(...)).
+ *
+ * Ejecutar con: mvn test-compile y luego el main de esta clase
+ * (agregar -prof gc para ver la asignación por operación)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    private static final String[] RECURSOS = {
+            "USUARIOS", "PACIENTES", "CITAS", "INVENTARIO", "SERVICIOS", "FACTURAS", "REPORTES", "CONFIGURACION"
+    };
+
+    private BitSetPermissionEvaluator evaluator;
+    private Map<String, List<PermissionSnapshot.Permiso>> permisosPorRol;
+    private Authentication authentication;
+
+    @Setup
+    public void setup() {
+        List<PermissionSnapshot.Permiso> permisos = new ArrayList<>();
+        long id = 1;
+        for (String recurso : RECURSOS) {
+            for (String accion : new String[]{"CREATE", "READ", "UPDATE", "DELETE", "CANCEL"}) {
+                permisos.add(new PermissionSnapshot.Permiso(id++, recurso, accion));
+            }
+        }
+
+        List<PermissionSnapshot.Asignacion> asignaciones = new ArrayList<>();
+        permisosPorRol = new HashMap<>();
+        for (PermissionSnapshot.Permiso permiso : permisos) {
+            assign("ADMIN", permiso, asignaciones);
+            if (List.of("PACIENTES", "CITAS", "SERVICIOS", "FACTURAS", "INVENTARIO").contains(permiso.recurso())
+                    && List.of("CREATE", "READ", "UPDATE").contains(permiso.accion())) {
+                assign("VETERINARIO", permiso, asignaciones);
+            }
+            if (List.of("PACIENTES", "CITAS", "INVENTARIO", "FACTURAS").contains(permiso.recurso())
+                    && !"DELETE".equals(permiso.accion())) {
+                assign("SECRETARIO", permiso, asignaciones);
+            }
+        }
+
+        evaluator = new BitSetPermissionEvaluator();
+        ReflectionTestUtils.setField(evaluator, "snapshot", PermissionSnapshot.build(permisos, asignaciones));
+
+        List<GrantedAuthority> authorities = List.of(
+                new SimpleGrantedAuthority("ROLE_VETERINARIO"),
+                new SimpleGrantedAuthority("ROLE_SECRETARIO")
+        );
+        authentication = new UsernamePasswordAuthenticationToken("vet", null, authorities);
+    }
+
+    private void assign(String rol, PermissionSnapshot.Permiso permiso, List<PermissionSnapshot.Asignacion> asignaciones) {
+        asignaciones.add(new PermissionSnapshot.Asignacion(rol, permiso.id()));
+        permisosPorRol.computeIfAbsent("ROLE_" + rol, k -> new ArrayList<>()).add(permiso);
+    }
+
+    @Benchmark
+    public boolean bitset() {
+        return evaluator.hasPermission(authentication, "CITAS", "CANCEL");
+    }
+
+    @Benchmark
+    public boolean collection() {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(rol -> permisosPorRol.getOrDefault(rol, List.of()))
+                .anyMatch(permisos -> permisos.stream().anyMatch(permiso ->
+                        permiso.recurso().equals("CITAS") && permiso.accion().equals("CANCEL")));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PermissionCheckBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,150 @@
+package com.veterinaria.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.veterinaria.common.dto.ApiResponse;
+import com.veterinaria.common.dto.PageResponse;
+import com.veterinaria.common.projection.FieldSelection;
+import com.veterinaria.common.projection.ProjectionQueryExecutor;
+import com.veterinaria.gestioninventario.dto.ProductoResponse;
+import com.veterinaria.gestioninventario.model.Producto;
+import com.veterinaria.gestioninventario.repository.ProductoProjection;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: listado de productos por entidad + DTO vs ?fields=
+ *
+ * Ambos caminos van contra un PostgreSQL real (Testcontainers, esquema de
+ * Flyway) con 2.000 productos con descripción larga y metadatos JSONB:
+ * - entityDto: lo que haría un listado con Spring Data (página de
+ *   entidades Producto con Hibernate + COUNT, mapeo a ProductoResponse)
+ * - sparseFields: ProjectionQueryExecutor con fields=nombre,stock,precioUnitario
+ * Cada operación incluye la serialización de la respuesta completa.
+ * Al preparar el estado imprime los bytes de cada respuesta.
+ *
+ * Requiere Docker. Ejecutar con: mvn test-compile y luego el main de esta clase
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparseFieldsetBenchmark {
+
+    private static final int PRODUCTOS = 2_000;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private ProjectionQueryExecutor projectionQueryExecutor;
+    private FieldSelection gridFields;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.setMaximumPoolSize(2);
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        new JdbcTemplate(dataSource).update("INSERT INTO productos (sku, nombre, descripcion, tipo, stock, precio_unitario, um, metadatos) "
+                + "SELECT 'PRD-' || i, 'Producto ' || i, repeat('Descripción extensa del producto ', 15), "
+                + "'medicamento', 40 + i % 60, 12500, 'unidad', "
+                + "jsonb_build_object('proveedor', 'Distribuidora Veterinaria S.A.S', 'lotes', "
+                + "(SELECT jsonb_agg(jsonb_build_object('codigo', 'L-' || i || '-' || l, "
+                + "'vencimiento', '2026-12-31', 'cantidad', l * 3)) FROM generate_series(0, 19) l)) "
+                + "FROM generate_series(1, ?) i", PRODUCTOS);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.veterinaria.gestioninventario.model");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        projectionQueryExecutor = new ProjectionQueryExecutor();
+        ReflectionTestUtils.setField(projectionQueryExecutor, "jdbcTemplate", new NamedParameterJdbcTemplate(dataSource));
+        gridFields = FieldSelection.parse("nombre,stock,precioUnitario", ProductoProjection.SPEC);
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        System.out.printf("%nBytes por respuesta (pageSize=%d): entidad+DTO=%d, fields=nombre,stock,precioUnitario=%d%n",
+                pageSize, entityDto().length, sparseFields().length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public byte[] entityDto() throws JsonProcessingException {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<ProductoResponse> content = entityManager
+                    .createQuery("SELECT p FROM Producto p ORDER BY p.nombre, p.id", Producto.class)
+                    .setFirstResult(0)
+                    .setMaxResults(pageSize)
+                    .getResultList()
+                    .stream()
+                    .map(ProductoResponse::from)
+                    .toList();
+            long total = entityManager.createQuery("SELECT count(p) FROM Producto p", Long.class).getSingleResult();
+            return objectMapper.writeValueAsBytes(ApiResponse.success(PageResponse.of(content, 0, pageSize, total)));
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] sparseFields() throws JsonProcessingException {
+        PageResponse<Map<String, Object>> page =
+                projectionQueryExecutor.findPage(gridFields, null, null, "nombre, id_producto", 0, pageSize);
+        return objectMapper.writeValueAsBytes(ApiResponse.success(page));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SparseFieldsetBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,163 @@
+package com.veterinaria.common.exception;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnexpectedErrorLoggerTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/facturas");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(UnexpectedErrorLogger.class);
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void captureLog() {
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void releaseLog() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsStackTraceOnlyWhileSignatureHasTokens() {
+        // 2 tokens por firma, sin recarga
+        UnexpectedErrorLogger errorLogger = new UnexpectedErrorLogger(2, 0, 100, meterRegistry);
+        RuntimeException ex = failureAt("com.veterinaria.facturacion.FacturaService");
+
+        for (int i = 0; i < 5; i++) {
+            errorLogger.log(ex, request);
+        }
+
+        List<ILoggingEvent> errors = eventsAt(Level.ERROR);
+        assertEquals(2, errors.size());
+        errors.forEach(event -> assertNotNull(event.getThrowableProxy()));
+        assertTrue(eventsAt(Level.WARN).isEmpty());
+        assertEquals(5d, meterRegistry.counter("http.server.errors.unexpected").count());
+    }
+
+    @Test
+    void signaturesDoNotShareBuckets() {
+        UnexpectedErrorLogger errorLogger = new UnexpectedErrorLogger(1, 0, 100, meterRegistry);
+        RuntimeException facturas = failureAt("com.veterinaria.facturacion.FacturaService");
+        RuntimeException citas = failureAt("com.veterinaria.citas.CitaService");
+
+        errorLogger.log(facturas, request);
+        errorLogger.log(facturas, request);
+        errorLogger.log(citas, request);
+
+        List<ILoggingEvent> errors = eventsAt(Level.ERROR);
+        assertEquals(2, errors.size());
+        assertEquals("facturacion", errors.get(0).getThrowableProxy().getMessage());
+        assertEquals("citas", errors.get(1).getThrowableProxy().getMessage());
+    }
+
+    @Test
+    void samplesSuppressedOccurrencesWithoutStackTrace() {
+        UnexpectedErrorLogger errorLogger = new UnexpectedErrorLogger(1, 0, 3, meterRegistry);
+        RuntimeException ex = failureAt("com.veterinaria.facturacion.FacturaService");
+
+        // 1 con stack + 7 omitidos: muestras en la 3ª y 6ª omisión
+        for (int i = 0; i < 8; i++) {
+            errorLogger.log(ex, request);
+        }
+
+        assertEquals(1, eventsAt(Level.ERROR).size());
+        List<ILoggingEvent> warnings = eventsAt(Level.WARN);
+        assertEquals(2, warnings.size());
+        assertTrue(warnings.get(0).getFormattedMessage().contains("3 ocurrencias sin stack trace"));
+        assertTrue(warnings.get(1).getFormattedMessage().contains("6 ocurrencias sin stack trace"));
+        warnings.forEach(event -> assertNull(event.getThrowableProxy()));
+    }
+
+    @Test
+    void untrackedSignaturesAreNeverSilenced() {
+        // Sin tokens: todo se omite y cada firma ocupa un contador
+        UnexpectedErrorLogger errorLogger = new UnexpectedErrorLogger(0, 0, 100, meterRegistry);
+        for (int i = 0; i < 1024; i++) {
+            errorLogger.log(failureAt("com.veterinaria.modulo" + i + ".Servicio"), request);
+        }
+        assertTrue(appender.list.isEmpty());
+
+        errorLogger.log(failureAt("com.veterinaria.otro.Servicio"), request);
+        errorLogger.log(failureAt("com.veterinaria.otro.Servicio"), request);
+
+        assertEquals(2, eventsAt(Level.WARN).size());
+        assertEquals(1026d, meterRegistry.counter("http.server.errors.unexpected").count());
+    }
+
+    @Test
+    void signatureUsesFirstApplicationFrame() {
+        IllegalStateException ex = new IllegalStateException("conexión cerrada");
+        ex.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("org.postgresql.jdbc.PgStatement", "execute", "PgStatement.java", 10),
+                new StackTraceElement("com.veterinaria.facturacion.FacturaService", "emitir", "FacturaService.java", 42)
+        });
+
+        assertEquals("java.lang.IllegalStateException @ com.veterinaria.facturacion.FacturaService.emitir(FacturaService.java:42)",
+                UnexpectedErrorLogger.signature(ex));
+    }
+
+    @Test
+    void sameLibraryFrameFromDifferentCallersGivesDifferentSignatures() {
+        StackTraceElement driver = new StackTraceElement("org.postgresql.jdbc.PgStatement", "execute", "PgStatement.java", 10);
+        RuntimeException fromCitas = new RuntimeException();
+        fromCitas.setStackTrace(new StackTraceElement[]{
+                driver, new StackTraceElement("com.veterinaria.citas.CitaService", "crear", "CitaService.java", 7)});
+        RuntimeException fromInventario = new RuntimeException();
+        fromInventario.setStackTrace(new StackTraceElement[]{
+                driver, new StackTraceElement("com.veterinaria.inventario.StockService", "mover", "StockService.java", 9)});
+
+        assertNotEquals(UnexpectedErrorLogger.signature(fromCitas), UnexpectedErrorLogger.signature(fromInventario));
+    }
+
+    @Test
+    void fallsBackToCauseThenTopFrame() {
+        RuntimeException cause = new RuntimeException();
+        cause.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("com.veterinaria.citas.CitaService", "crear", "CitaService.java", 7)});
+        RuntimeException wrapper = new RuntimeException(cause);
+        wrapper.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("org.springframework.Foo", "bar", "Foo.java", 1)});
+
+        assertEquals("java.lang.RuntimeException @ com.veterinaria.citas.CitaService.crear(CitaService.java:7)",
+                UnexpectedErrorLogger.signature(wrapper));
+
+        RuntimeException library = new RuntimeException();
+        library.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("org.springframework.Foo", "bar", "Foo.java", 1)});
+        assertEquals("java.lang.RuntimeException @ org.springframework.Foo.bar(Foo.java:1)",
+                UnexpectedErrorLogger.signature(library));
+    }
+
+    private static RuntimeException failureAt(String className) {
+        RuntimeException ex = new RuntimeException(className.substring("com.veterinaria.".length(), className.lastIndexOf('.')));
+        ex.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("org.postgresql.jdbc.PgStatement", "execute", "PgStatement.java", 10),
+                new StackTraceElement(className, "ejecutar", "Servicio.java", 1)});
+        return ex;
+    }
+
+    private List<ILoggingEvent> eventsAt(Level level) {
+        return appender.list.stream().filter(event -> event.getLevel() == level).toList();
+    }
+}
@@ -0,0 +1,50 @@
+package com.veterinaria.common.projection;
+
+import com.veterinaria.common.exception.ValidationException;
+import com.veterinaria.gestioninventario.repository.ProductoProjection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldSelectionTest {
+
+    private static final ProjectionSpec SPEC = ProductoProjection.SPEC;
+
+    @Test
+    void rejectsFieldsOutsideWhitelist() {
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> FieldSelection.parse("nombre,password_hash,stock; DROP TABLE productos", SPEC));
+
+        assertEquals(List.of("password_hash", "stock; DROP TABLE productos"), List.copyOf(ex.getErrors().keySet()));
+        assertTrue(ex.getMessage().contains("precioUnitario"));
+    }
+
+    @Test
+    void alwaysIncludesIdFirstWithoutDuplicates() {
+        assertEquals(List.of("id", "nombre", "stock"), FieldSelection.parse("nombre,stock", SPEC).getFields());
+        assertEquals(List.of("id", "nombre"), FieldSelection.parse("nombre,id,nombre", SPEC).getFields());
+    }
+
+    @Test
+    void usesDefaultFieldsWhenParameterIsMissingOrBlank() {
+        List<String> expected = List.of("id", "sku", "nombre", "tipo", "stock", "precioUnitario", "um", "activo");
+
+        assertEquals(expected, FieldSelection.parse(null, SPEC).getFields());
+        assertEquals(expected, FieldSelection.parse("  ", SPEC).getFields());
+    }
+
+    @Test
+    void ignoresEmptyEntries() {
+        assertEquals(List.of("id", "nombre"), FieldSelection.parse(" nombre , ,", SPEC).getFields());
+    }
+
+    @Test
+    void selectClauseUsesColumnsAndQuotedApiNames() {
+        assertEquals("id_producto AS \"id\", precio_unitario AS \"precioUnitario\", metadatos::text AS \"metadatos\"",
+                FieldSelection.parse("precioUnitario,metadatos", SPEC).toSelectClause());
+    }
+}
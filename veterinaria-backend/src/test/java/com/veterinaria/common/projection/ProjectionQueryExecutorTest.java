@@ -0,0 +1,105 @@
+package com.veterinaria.common.projection;
+
+import com.veterinaria.common.dto.PageResponse;
+import com.veterinaria.gestioninventario.repository.ProductoProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProjectionQueryExecutorTest {
+
+    private final FieldSelection selection = FieldSelection.parse("nombre", ProductoProjection.SPEC);
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ProjectionQueryExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        executor = new ProjectionQueryExecutor();
+        ReflectionTestUtils.setField(executor, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    void partialFirstPageSkipsCount() {
+        returnRows(3);
+
+        PageResponse<Map<String, Object>> page = executor.findPage(selection, null, null, "nombre", 0, 20);
+
+        assertEquals(3, page.getTotalElements());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class));
+    }
+
+    @Test
+    void partialLaterPageComputesTotalWithoutCount() {
+        returnRows(5);
+
+        PageResponse<Map<String, Object>> page = executor.findPage(selection, null, null, "nombre", 2, 20);
+
+        assertEquals(45, page.getTotalElements());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class));
+    }
+
+    @Test
+    void fullPageRunsCountWithSameFilter() {
+        returnRows(20);
+        when(jdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class))).thenReturn(57L);
+
+        PageResponse<Map<String, Object>> page = executor.findPage(
+                selection, "activo = :activo", Map.of("activo", true), "nombre", 0, 20);
+
+        assertEquals(57, page.getTotalElements());
+        verify(jdbcTemplate).queryForObject(
+                eq("SELECT count(*) FROM productos WHERE activo = :activo"), any(SqlParameterSource.class), eq(Long.class));
+    }
+
+    @Test
+    void emptyPageBeyondTheEndRunsCount() {
+        returnRows(0);
+        when(jdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class))).thenReturn(12L);
+
+        PageResponse<Map<String, Object>> page = executor.findPage(selection, null, null, "nombre", 4, 20);
+
+        assertEquals(12, page.getTotalElements());
+        assertTrue(page.getContent().isEmpty());
+    }
+
+    @Test
+    void selectsOnlyRequestedColumns() {
+        returnRows(1);
+
+        executor.findPage(selection, null, null, "nombre, id_producto", 0, 20);
+
+        verify(jdbcTemplate).query(
+                eq("SELECT id_producto AS \"id\", nombre AS \"nombre\" FROM productos"
+                        + " ORDER BY nombre, id_producto LIMIT :limit OFFSET :offset"),
+                any(SqlParameterSource.class),
+                any(RowMapper.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void returnRows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(Map.of("id", (long) i, "nombre", "Producto " + i));
+        }
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenReturn(rows);
+    }
+}
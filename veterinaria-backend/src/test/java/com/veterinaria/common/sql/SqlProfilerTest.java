@@ -0,0 +1,62 @@
+package com.veterinaria.common.sql;
+
+import com.veterinaria.support.SqlAssertions;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlProfilerTest {
+
+    private final SqlProfilingListener listener = new SqlProfilingListener(Long.MAX_VALUE, null);
+
+    @Test
+    void normalizesLiteralsCommentsAndInLists() {
+        assertEquals(
+                "select m1_0.id_mascota from mascotas m1_0 where m1_0.nombre = ? and m1_0.id_cliente in (?)",
+                SqlShape.of("/* load Mascota */ select m1_0.id_mascota\n  from mascotas m1_0 "
+                        + "where m1_0.nombre = 'O''Malley' and m1_0.id_cliente in (1, 2, 3)")
+        );
+    }
+
+    @Test
+    void nestedScopesCountInParent() throws Exception {
+        SqlProfile outer = SqlAssertions.assertStatementCount(3, () -> {
+            execute("select * from clientes where id_cliente = 1");
+            SqlProfile inner = SqlProfiler.start("GET /api/clientes");
+            execute("select * from mascotas where id_cliente = 1");
+            execute("select * from mascotas where id_cliente = 2");
+            SqlProfiler.stop(inner);
+            assertEquals(2, inner.getStatementCount());
+        });
+
+        assertEquals(2, outer.getShapeCounts().get("select * from mascotas where id_cliente = ?"));
+        assertNull(SqlProfiler.current());
+    }
+
+    @Test
+    void detectsRepeatedShapes() {
+        assertThrows(AssertionError.class, () -> SqlAssertions.assertNoNPlusOne(() -> {
+            for (int i = 0; i < 5; i++) {
+                execute("select * from vacunas where id_mascota = " + i);
+            }
+        }));
+    }
+
+    @Test
+    void ignoresStatementsOutsideScope() {
+        execute("select 1");
+        assertNull(SqlProfiler.current());
+    }
+
+    private void execute(String sql) {
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(new ExecutionInfo(), queries);
+        listener.afterQuery(new ExecutionInfo(), queries);
+    }
+}
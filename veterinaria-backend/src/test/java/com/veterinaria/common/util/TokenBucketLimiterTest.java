@@ -0,0 +1,78 @@
+package com.veterinaria.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000L);
+
+    @Test
+    void allowsBurstThenRefillsAtConstantRate() {
+        // 3 tokens, 1 por segundo
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 3, 1, 16, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, limiter.tryAcquire("ana"));
+        }
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("ana"));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire("ana"));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0L, limiter.tryAcquire("ana"));
+        assertTrue(limiter.tryAcquire("ana") > 0);
+    }
+
+    @Test
+    void keysDoNotShareBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(4, 1, 1, 16, now::get);
+
+        assertEquals(0L, limiter.tryAcquire("ana"));
+        assertTrue(limiter.tryAcquire("ana") > 0);
+        assertEquals(0L, limiter.tryAcquire("luis"));
+    }
+
+    @Test
+    void evictionKeepsThrottledKeys() {
+        // Un solo stripe de 3 claves: 5 tokens, 1 por minuto
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 5, 1 / 60d, 3, now::get);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("atacante");
+        }
+        assertTrue(limiter.tryAcquire("atacante") > 0);
+
+        // Muchas claves nuevas llenan el stripe una y otra vez
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("rotacion-" + i);
+        }
+
+        assertEquals(3, limiter.size());
+        assertTrue(limiter.tryAcquire("atacante") > 0);
+    }
+
+    @Test
+    void evictsRefilledBucketsFirst() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 2, 1, 2, now::get);
+
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("b");
+        assertTrue(limiter.tryAcquire("b") > 0);
+
+        // "a" se recarga por completo; "b" sigue sin tokens
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_500));
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("c");
+
+        assertEquals(2, limiter.size());
+        assertTrue(limiter.tryAcquire("b") > 0);
+    }
+}
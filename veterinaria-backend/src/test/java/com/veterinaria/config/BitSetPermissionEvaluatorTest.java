@@ -0,0 +1,90 @@
+package com.veterinaria.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BitSetPermissionEvaluatorTest {
+
+    private final List<PermissionSnapshot.Permiso> permisos = new ArrayList<>();
+    private final List<PermissionSnapshot.Asignacion> asignaciones = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private BitSetPermissionEvaluator evaluator;
+    private Authentication secretario;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        permisos.add(new PermissionSnapshot.Permiso(1, "CITAS", "READ"));
+        permisos.add(new PermissionSnapshot.Permiso(2, "CITAS", "CANCEL"));
+        asignaciones.add(new PermissionSnapshot.Asignacion("SECRETARIO", 1));
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            return sql.contains("FROM permisos ORDER BY") ? List.copyOf(permisos) : List.copyOf(asignaciones);
+        });
+        when(jdbcTemplate.queryForObject(eq(BitSetPermissionEvaluator.SQL_HUELLA), eq(String.class)))
+                .thenReturn("h1");
+
+        evaluator = new BitSetPermissionEvaluator();
+        ReflectionTestUtils.setField(evaluator, "jdbcTemplate", jdbcTemplate);
+        secretario = new UsernamePasswordAuthenticationToken("ana", null,
+                List.of(new SimpleGrantedAuthority("ROLE_SECRETARIO")));
+    }
+
+    @Test
+    void scheduledCheckReloadsWhenFingerprintChanges() {
+        evaluator.onApplicationReady();
+        assertFalse(evaluator.hasPermission(secretario, "CITAS", "CANCEL"));
+
+        // Asignación hecha por SQL directo, sin RolePermissionsChangedEvent
+        asignaciones.add(new PermissionSnapshot.Asignacion("SECRETARIO", 2));
+        when(jdbcTemplate.queryForObject(eq(BitSetPermissionEvaluator.SQL_HUELLA), eq(String.class)))
+                .thenReturn("h2");
+
+        evaluator.checkForChanges();
+
+        assertTrue(evaluator.hasPermission(secretario, "CITAS", "CANCEL"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scheduledCheckDoesNotReloadWhenFingerprintIsUnchanged() {
+        evaluator.onApplicationReady();
+
+        evaluator.checkForChanges();
+        evaluator.checkForChanges();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scheduledCheckWaitsForInitialLoad() {
+        evaluator.checkForChanges();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(String.class));
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class));
+    }
+}
@@ -0,0 +1,114 @@
+package com.veterinaria.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cuándo se omite migrate con skip-current-schema-validation=true
+ *
+ * El esquema se migra con un Flyway real; la estrategia recibe un mock que
+ * devuelve esa configuración, para verificar si llama a migrate o no.
+ * Se omite si no hay Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayStartupStrategyTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private DataSource dataSource;
+    private Flyway flyway;
+
+    @BeforeEach
+    void cleanSchema() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+    }
+
+    @Test
+    void skipsMigrateWhenLatestVersionIsApplied() {
+        flyway.migrate();
+
+        Flyway startup = startupFlyway("classpath:db/migration");
+        strategy(true).migrate(startup);
+
+        verify(startup, never()).migrate();
+    }
+
+    @Test
+    void migratesWhenPropertyIsOff() {
+        flyway.migrate();
+
+        Flyway startup = startupFlyway("classpath:db/migration");
+        strategy(false).migrate(startup);
+
+        verify(startup).migrate();
+    }
+
+    @Test
+    void migratesWhenHistoryTableIsMissing() {
+        Flyway startup = startupFlyway("classpath:db/migration");
+        strategy(true).migrate(startup);
+
+        verify(startup).migrate();
+    }
+
+    @Test
+    void migratesAfterFailedAttempt() {
+        flyway.migrate();
+        new JdbcTemplate(dataSource).update(
+                "UPDATE flyway_schema_history SET success = false "
+                        + "WHERE installed_rank = (SELECT max(installed_rank) FROM flyway_schema_history)");
+
+        Flyway startup = startupFlyway("classpath:db/migration");
+        strategy(true).migrate(startup);
+
+        verify(startup).migrate();
+    }
+
+    @Test
+    void migratesWhenRepeatableMigrationsExist() {
+        flyway.migrate();
+
+        // Un R__ modificado solo se detecta por checksum: no se puede omitir
+        Flyway startup = startupFlyway("classpath:db/migration", "classpath:db/flyway-repetible");
+        strategy(true).migrate(startup);
+
+        verify(startup).migrate();
+    }
+
+    private Flyway startupFlyway(String... locations) {
+        Flyway startup = mock(Flyway.class);
+        when(startup.getConfiguration()).thenReturn(Flyway.configure()
+                .dataSource(dataSource)
+                .locations(locations)
+                .load()
+                .getConfiguration());
+        return startup;
+    }
+
+    private FlywayStartupStrategy strategy(boolean skipWhenCurrent) {
+        FlywayStartupStrategy strategy = new FlywayStartupStrategy();
+        ReflectionTestUtils.setField(strategy, "skipWhenCurrent", skipWhenCurrent);
+        return strategy;
+    }
+}
@@ -0,0 +1,290 @@
+package com.veterinaria.config;
+
+import com.veterinaria.common.cache.CatalogResource;
+import com.veterinaria.common.cache.CatalogResponseCache;
+import com.veterinaria.common.cache.CatalogVersionRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HttpCacheFilterTest {
+
+    private AnnotationConfigApplicationContext context;
+    private HttpCacheFilter filter;
+    private CatalogVersionRegistry registry;
+    private CatalogResponseCache cache;
+    private FakeDatabase database;
+    private ExecutorService otherClient;
+
+    @BeforeEach
+    void setup() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        filter = context.getBean(HttpCacheFilter.class);
+        registry = context.getBean(CatalogVersionRegistry.class);
+        cache = context.getBean(CatalogResponseCache.class);
+        database = context.getBean(FakeDatabase.class);
+        otherClient = Executors.newSingleThreadExecutor();
+
+        authenticate("ROLE_SECRETARIO");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        otherClient.shutdownNow();
+        context.close();
+    }
+
+    @Test
+    void setsEtagAndServesRepeatedGetFromCache() throws Exception {
+        MockHttpServletResponse first = get(null);
+        MockHttpServletResponse second = get(null);
+
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(etag, second.getHeader(HttpHeaders.ETAG));
+        assertEquals("[\"v0\"]", second.getContentAsString());
+        assertEquals(1, database.reads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void etagIsBuiltFromResourceEpochAndVersion() throws Exception {
+        String etag = get(null).getHeader(HttpHeaders.ETAG);
+
+        assertEquals(etag, get(null, "/api/servicios?page=2").getHeader(HttpHeaders.ETAG));
+        assertEquals(true, etag.matches("\"servicios-[0-9a-z]+-0-g\\d+\""));
+    }
+
+    @Test
+    void returnsNotModifiedForCurrentEtag() throws Exception {
+        String etag = get(null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse revalidated = get(etag);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, revalidated.getStatus());
+        assertEquals(0, revalidated.getContentAsByteArray().length);
+        assertEquals(1, database.reads.get());
+    }
+
+    @Test
+    void bumpInvalidatesEtagAndServerCopy() throws Exception {
+        String etag = get(null).getHeader(HttpHeaders.ETAG);
+
+        registry.bump(CatalogResource.SERVICIOS);
+        assertEquals(0, cache.size());
+
+        MockHttpServletResponse fresh = get(etag);
+        assertEquals(HttpServletResponse.SC_OK, fresh.getStatus());
+        assertNotEquals(etag, fresh.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, database.reads.get());
+    }
+
+    @Test
+    void successfulWriteBumpsVersionWithinTransaction() throws Exception {
+        long before = registry.currentVersion(CatalogResource.SERVICIOS);
+
+        MockHttpServletResponse response = write("v1", 200);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("v1", database.committed.get());
+        // Antes del commit y después del commit
+        assertEquals(before + 2, registry.currentVersion(CatalogResource.SERVICIOS));
+    }
+
+    @Test
+    void failedWriteRollsBackAndKeepsVersion() throws Exception {
+        String etag = get(null).getHeader(HttpHeaders.ETAG);
+
+        assertEquals(400, write("v1", 400).getStatus());
+
+        assertEquals("v0", database.committed.get());
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, get(etag).getStatus());
+    }
+
+    @Test
+    void concurrentGetDuringCommitNeverServesOldVersionAfterWrite() throws Exception {
+        String oldEtag = get(null).getHeader(HttpHeaders.ETAG);
+
+        // Otro cliente pide el catálogo justo cuando la escritura está confirmando:
+        // antes de que los datos sean visibles (lee y cachea "v0") y justo después
+        AtomicReference<MockHttpServletResponse> beforeVisible = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> afterVisible = new AtomicReference<>();
+        database.duringCommit = () -> beforeVisible.set(getFromOtherClient(oldEtag));
+        database.afterCommit = () -> afterVisible.set(getFromOtherClient(oldEtag));
+
+        write("v1", 200);
+
+        // Durante el commit: el ETag viejo no vale y nada se cachea ni lleva ETag
+        assertEquals(HttpServletResponse.SC_OK, beforeVisible.get().getStatus());
+        assertNull(beforeVisible.get().getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpServletResponse.SC_OK, afterVisible.get().getStatus());
+        assertEquals("[\"v1\"]", afterVisible.get().getContentAsString());
+
+        // Tras la escritura nadie recibe 304 ni el cuerpo con "v0"
+        MockHttpServletResponse after = get(oldEtag);
+        assertEquals(HttpServletResponse.SC_OK, after.getStatus());
+        assertEquals("[\"v1\"]", after.getContentAsString());
+        assertEquals("[\"v1\"]", get(null).getContentAsString());
+    }
+
+    @Test
+    void differentAuthoritiesDoNotShareEntries() throws Exception {
+        String staffEtag = get(null).getHeader(HttpHeaders.ETAG);
+
+        authenticate("ROLE_CLIENTE");
+        MockHttpServletResponse client = get(staffEtag);
+
+        assertEquals(HttpServletResponse.SC_OK, client.getStatus());
+        assertNotEquals(staffEtag, client.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, database.reads.get());
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        return get(ifNoneMatch, "/api/servicios");
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch, String uri) throws Exception {
+        String[] parts = uri.split("\\?", 2);
+        MockHttpServletRequest request = request("GET", parts[0]);
+        if (parts.length > 1) {
+            request.setQueryString(parts[1]);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(database.reader()));
+        return response;
+    }
+
+    private MockHttpServletResponse getFromOtherClient(String ifNoneMatch) {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        Future<MockHttpServletResponse> future = otherClient.submit(() -> {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            return get(ifNoneMatch);
+        });
+        try {
+            return future.get();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private MockHttpServletResponse write(String value, int status) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("PUT", "/api/servicios/1"), response,
+                new MockFilterChain(database.writer(value, status)));
+        return response;
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setContextPath("/api");
+        return request;
+    }
+
+    private void authenticate(String... authorities) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "usuario", null, AuthorityUtils.createAuthorityList(authorities)));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({HttpCacheFilter.class, CatalogVersionRegistry.class, CatalogResponseCache.class})
+    static class TestConfig {
+
+        // Hace de transaction manager: el commit es lo que vuelve visibles los datos
+        @Bean
+        FakeDatabase transactionManager() {
+            return new FakeDatabase();
+        }
+    }
+
+    /**
+     * "Base de datos" con un valor: lo escrito solo es visible tras el commit
+     */
+    static class FakeDatabase extends AbstractPlatformTransactionManager {
+
+        final AtomicReference<String> committed = new AtomicReference<>("v0");
+        final AtomicInteger reads = new AtomicInteger();
+        final ThreadLocal<String> pending = new ThreadLocal<>();
+        volatile Runnable duringCommit = () -> { };
+        volatile Runnable afterCommit = () -> { };
+
+        HttpServlet reader() {
+            return new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                    reads.incrementAndGet();
+                    resp.setContentType("application/json");
+                    resp.getWriter().write("[\"" + committed.get() + "\"]");
+                }
+            };
+        }
+
+        HttpServlet writer(String value, int status) {
+            return new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                    pending.set(value);
+                    resp.setStatus(status);
+                }
+            };
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            pending.remove();
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            duringCommit.run();
+            if (pending.get() != null) {
+                committed.set(pending.get());
+            }
+            afterCommit.run();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            pending.remove();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.veterinaria.config;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottlingFilterTest {
+
+    private LoginThrottlingFilter filter;
+
+    @BeforeEach
+    void setup() {
+        // 2 intentos por IP, 1 por minuto
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 16, 5, 5, 2, 1, new SimpleMeterRegistry());
+        filter = new LoginThrottlingFilter();
+        ReflectionTestUtils.setField(filter, "loginRateLimiter", limiter);
+        ReflectionTestUtils.setField(filter, "objectMapper", JsonMapper.builder().findAndAddModules().build());
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceIpIsExhausted() throws Exception {
+        assertEquals(200, login("10.0.0.7").getStatus());
+        assertEquals(200, login("10.0.0.7").getStatus());
+
+        MockHttpServletResponse rejected = login("10.0.0.7");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("60", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("TOO_MANY_REQUESTS"));
+
+        // Otra IP no comparte el límite
+        assertEquals(200, login("10.0.0.8").getStatus());
+    }
+
+    @Test
+    void ignoresRequestsOutsideAuth() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/citas");
+            request.setContextPath("/api");
+            request.setRemoteAddr("10.0.0.7");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+    }
+
+    private MockHttpServletResponse login(String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setContextPath("/api");
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        if (response.getStatus() == 429) {
+            assertNull(chain.getRequest());
+        }
+        return response;
+    }
+}
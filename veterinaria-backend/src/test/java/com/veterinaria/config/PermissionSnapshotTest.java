@@ -0,0 +1,50 @@
+package com.veterinaria.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionSnapshotTest {
+
+    @Test
+    void resolvesPermissionsByRoleWithAndWithoutPrefix() {
+        PermissionSnapshot snapshot = PermissionSnapshot.build(
+                List.of(
+                        new PermissionSnapshot.Permiso(10, "CITAS", "READ"),
+                        new PermissionSnapshot.Permiso(11, "CITAS", "CANCEL")
+                ),
+                List.of(
+                        new PermissionSnapshot.Asignacion("SECRETARIO", 11),
+                        new PermissionSnapshot.Asignacion("CLIENTE", 10)
+                )
+        );
+
+        assertTrue(snapshot.hasPermission("SECRETARIO", "CITAS", "CANCEL"));
+        assertTrue(snapshot.hasPermission("ROLE_SECRETARIO", "CITAS", "CANCEL"));
+        assertFalse(snapshot.hasPermission("CLIENTE", "CITAS", "CANCEL"));
+        assertFalse(snapshot.hasPermission("ADMIN", "CITAS", "READ"));
+        assertFalse(snapshot.hasPermission("CLIENTE", "FACTURAS", "READ"));
+    }
+
+    @Test
+    void supportsMoreThanSixtyFourPermissions() {
+        List<PermissionSnapshot.Permiso> permisos = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            permisos.add(new PermissionSnapshot.Permiso(i, "RECURSO_" + i, "READ"));
+        }
+
+        PermissionSnapshot snapshot = PermissionSnapshot.build(
+                permisos,
+                List.of(new PermissionSnapshot.Asignacion("ADMIN", 129))
+        );
+
+        assertEquals(130, snapshot.getPermissionCount());
+        assertTrue(snapshot.hasPermission("ADMIN", "RECURSO_129", "READ"));
+        assertFalse(snapshot.hasPermission("ADMIN", "RECURSO_65", "READ"));
+    }
+}
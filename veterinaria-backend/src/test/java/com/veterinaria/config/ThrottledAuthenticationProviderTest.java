@@ -0,0 +1,98 @@
+package com.veterinaria.config;
+
+import com.veterinaria.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Login completo sin HTTP: ProviderManager -> ThrottledAuthenticationProvider
+ * -> UserDetailsService -> BoundedPasswordEncoder (BCrypt real)
+ */
+class ThrottledAuthenticationProviderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder passwordEncoder;
+    private AuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, 500, 2000, meterRegistry);
+
+        // 3 intentos por (usuario, IP), sin recarga apreciable durante el test
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 64, 3, 0.001, 100, 100, meterRegistry);
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername("laura")
+                .password(passwordEncoder.encode("Secreta-123"))
+                .roles("VETERINARIO")
+                .build());
+
+        ThrottledAuthenticationProvider provider = new ThrottledAuthenticationProvider(users, limiter);
+        provider.setPasswordEncoder(passwordEncoder);
+        authenticationManager = new ProviderManager(provider);
+    }
+
+    @AfterEach
+    void shutdown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    void authenticatesThroughBoundedEncoder() {
+        Authentication result = authenticationManager.authenticate(login("laura", "Secreta-123", "10.0.0.5"));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals("ROLE_VETERINARIO", result.getAuthorities().iterator().next().getAuthority());
+        assertTrue(meterRegistry.get("auth.bcrypt.compute").timer().count() >= 2);
+    }
+
+    @Test
+    void failuresFromOneIpDoNotLockOutTheOwnerElsewhere() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(BadCredentialsException.class,
+                    () -> authenticationManager.authenticate(login("laura", "adivinando", "203.0.113.9")));
+        }
+        long hashesBefore = meterRegistry.get("auth.bcrypt.compute").timer().count();
+
+        TooManyRequestsException throttled = assertThrows(TooManyRequestsException.class,
+                () -> authenticationManager.authenticate(login("LAURA", "adivinando", "203.0.113.9")));
+        assertTrue(throttled.getRetryAfterSeconds() > 0);
+        // El intento frenado no llega a BCrypt
+        assertEquals(hashesBefore, meterRegistry.get("auth.bcrypt.compute").timer().count());
+
+        assertTrue(authenticationManager.authenticate(login("laura", "Secreta-123", "10.0.0.5")).isAuthenticated());
+    }
+
+    @Test
+    void unknownUserConsumesAttemptsAndLooksLikeBadPassword() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(BadCredentialsException.class,
+                    () -> authenticationManager.authenticate(login("nadie", "x", "203.0.113.9")));
+        }
+        assertThrows(TooManyRequestsException.class,
+                () -> authenticationManager.authenticate(login("nadie", "x", "203.0.113.9")));
+    }
+
+    private UsernamePasswordAuthenticationToken login(String username, String password, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(ip);
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+        token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        return token;
+    }
+}
@@ -0,0 +1,212 @@
+package com.veterinaria.configuracion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.veterinaria.common.exception.BusinessException;
+import com.veterinaria.configuracion.dto.BackupManifest;
+import com.veterinaria.configuracion.model.ModoBackup;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Backup y restauración contra un PostgreSQL real con el esquema de Flyway
+ *
+ * Se omite si no hay Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BackupEngineRoundTripTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @TempDir
+    Path backups;
+
+    private BackupEngine engine;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        // Esquema y datos iniciales reales (V1) en cada prueba
+        Flyway flyway = Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(POSTGRES.getJdbcUrl());
+        properties.setUsername(POSTGRES.getUsername());
+        properties.setPassword(POSTGRES.getPassword());
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        engine = new BackupEngine();
+        ReflectionTestUtils.setField(engine, "dataSourceProperties", properties);
+        ReflectionTestUtils.setField(engine, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(engine, "parallelism", 3);
+        ReflectionTestUtils.setField(engine, "compressionLevel", 1);
+
+        execute("INSERT INTO proveedores (nombre, correo) VALUES ('Agro Sur', 'ventas@agrosur.co'), ('VetPharma', NULL)");
+        execute("INSERT INTO logs_sistema (nivel, componente, mensaje, metadata) "
+                + "VALUES ('INFO', 'INVENTARIO', 'Carga inicial', '{\"filas\": 2}')");
+    }
+
+    @Test
+    void fullBackupRestoresDataAndKeepsHistory() throws Exception {
+        Path full = backups.resolve("completo");
+        BackupManifest manifest = engine.backup(full, ModoBackup.COMPLETO, null, null, new BackupProgress(1L));
+
+        assertTrue(Files.exists(full.resolve(BackupManifest.FILE_NAME)));
+        assertFalse(manifest.getTablas().stream().anyMatch(t -> t.getTabla().equals(BackupEngine.HISTORY_TABLE)));
+        assertEquals(2, rows(manifest, "proveedores"));
+
+        // Cambios posteriores al backup, y un registro de historial que debe sobrevivir
+        execute("DELETE FROM proveedores WHERE nombre = 'VetPharma'");
+        execute("UPDATE proveedores SET correo = 'otro@agrosur.co'");
+        execute("INSERT INTO proveedores (nombre) VALUES ('Nuevo')");
+        execute("INSERT INTO backups_sistema (ruta_archivo, estado, creado_por) "
+                + "VALUES ('" + full + "', 'EN_PROCESO', (SELECT MIN(id_usuario) FROM usuarios))");
+
+        BackupProgress progress = new BackupProgress(1L);
+        engine.restore(List.of(full), progress);
+
+        assertEquals(List.of("Agro Sur|ventas@agrosur.co", "VetPharma|null"),
+                strings("SELECT nombre || '|' || COALESCE(correo, 'null') FROM proveedores ORDER BY id_proveedor"));
+        assertEquals(List.of("EN_PROCESO"), strings("SELECT estado FROM backups_sistema"));
+        assertEquals(List.of("{\"filas\": 2}"), strings("SELECT metadata::text FROM logs_sistema"));
+        assertTrue(progress.toResponse().getTablasCompletadas() > 0);
+        // El avance de la restauración cuenta bytes descomprimidos, igual que el backup
+        assertEquals(manifest.getTablas().stream().mapToLong(BackupManifest.TableEntry::getBytesSinComprimir).sum(),
+                progress.toResponse().getBytesSinComprimir());
+
+        // Secuencias ajustadas: un insert nuevo no choca con ids restaurados
+        execute("INSERT INTO proveedores (nombre) VALUES ('Tras restaurar')");
+        assertEquals(List.of("3"), strings("SELECT MAX(id_proveedor)::text FROM proveedores"));
+    }
+
+    @Test
+    void incrementalChainAddsAppendOnlyRows() throws Exception {
+        Path full = backups.resolve("completo");
+        BackupManifest base = engine.backup(full, ModoBackup.COMPLETO, null, null, new BackupProgress(1L));
+
+        execute("INSERT INTO logs_sistema (nivel, componente, mensaje) VALUES ('WARN', 'INVENTARIO', 'Stock bajo')");
+        execute("UPDATE proveedores SET correo = 'compras@vetpharma.co' WHERE nombre = 'VetPharma'");
+
+        Path incremental = backups.resolve("incremental");
+        OffsetDateTime desde = base.getSnapshotTime().minusMinutes(1);
+        BackupManifest delta = engine.backup(incremental, ModoBackup.INCREMENTAL, desde, 1L, new BackupProgress(2L));
+        assertEquals(ModoBackup.INCREMENTAL, entry(delta, "logs_sistema").getModo());
+        assertEquals(ModoBackup.COMPLETO, entry(delta, "historial_acciones").getModo());
+
+        execute("DELETE FROM logs_sistema");
+        execute("DELETE FROM proveedores");
+
+        engine.restore(List.of(full, incremental), new BackupProgress(2L));
+
+        assertEquals(List.of("Carga inicial", "Stock bajo"),
+                strings("SELECT mensaje FROM logs_sistema ORDER BY id_log"));
+        assertEquals(List.of("compras@vetpharma.co"),
+                strings("SELECT correo FROM proveedores WHERE nombre = 'VetPharma'"));
+    }
+
+    @Test
+    void incrementalIncludesBackdatedInventoryMovements() throws Exception {
+        execute("INSERT INTO productos (sku, nombre, tipo, precio_unitario, um) "
+                + "VALUES ('VAC-01', 'Vacuna triple', 'medicamento', 32000, 'unidad')");
+        Path full = backups.resolve("completo");
+        BackupManifest base = engine.backup(full, ModoBackup.COMPLETO, null, null, new BackupProgress(1L));
+
+        // Movimiento cargado hoy con fecha de negocio de hace un mes
+        execute("INSERT INTO movimientos_inventario (producto_id, tipo_movimiento, cantidad, fecha, usuario_id) "
+                + "VALUES ((SELECT id_producto FROM productos), 'IN', 12, now() - interval '30 days', "
+                + "(SELECT MIN(id_usuario) FROM usuarios))");
+
+        Path incremental = backups.resolve("incremental");
+        OffsetDateTime desde = base.getSnapshotTime().minusMinutes(1);
+        BackupManifest delta = engine.backup(incremental, ModoBackup.INCREMENTAL, desde, 1L, new BackupProgress(2L));
+        assertEquals("fecha_registro", entry(delta, "movimientos_inventario").getColumnaIncremental());
+        assertEquals(1, rows(delta, "movimientos_inventario"));
+
+        execute("DELETE FROM movimientos_inventario");
+        engine.restore(List.of(full, incremental), new BackupProgress(2L));
+
+        assertEquals(List.of("12"), strings("SELECT cantidad::text FROM movimientos_inventario"));
+    }
+
+    @Test
+    void rejectsCorruptedFileWithoutTouchingData() throws Exception {
+        Path full = backups.resolve("completo");
+        engine.backup(full, ModoBackup.COMPLETO, null, null, new BackupProgress(1L));
+        Files.write(full.resolve("proveedores.copy.gz"), new byte[]{1, 2, 3});
+        execute("INSERT INTO proveedores (nombre) VALUES ('Nuevo')");
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> engine.restore(List.of(full), new BackupProgress(1L)));
+
+        assertEquals("BACKUP_CORRUPTO", ex.getErrorCode());
+        assertEquals(List.of("3"), strings("SELECT COUNT(*)::text FROM proveedores"));
+    }
+
+    @Test
+    void cutoffLiteralIsIsoInstant() {
+        OffsetDateTime bogota = OffsetDateTime.parse("2026-03-01T08:30:00-05:00");
+
+        assertEquals("'2026-03-01T13:30:00Z'::timestamptz", BackupEngine.timestamptzLiteral(bogota.toInstant()));
+    }
+
+    private long rows(BackupManifest manifest, String table) {
+        return entry(manifest, table).getFilas();
+    }
+
+    private BackupManifest.TableEntry entry(BackupManifest manifest, String table) {
+        return manifest.getTablas().stream()
+                .filter(t -> t.getTabla().equals(table))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private List<String> strings(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            List<String> values = new ArrayList<>();
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+            return values;
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
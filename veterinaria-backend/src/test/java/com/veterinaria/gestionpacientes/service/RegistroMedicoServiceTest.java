@@ -0,0 +1,80 @@
+package com.veterinaria.gestionpacientes.service;
+
+import com.veterinaria.common.dto.PageResponse;
+import com.veterinaria.common.exception.ResourceNotFoundException;
+import com.veterinaria.common.projection.ProjectionQueryExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RegistroMedicoServiceTest {
+
+    private final PageResponse<Map<String, Object>> page = PageResponse.of(List.of(), 0, 20, 0);
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ProjectionQueryExecutor projectionQueryExecutor;
+    private RegistroMedicoService service;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        projectionQueryExecutor = mock(ProjectionQueryExecutor.class);
+        when(projectionQueryExecutor.findPage(any(), anyString(), anyMap(), anyString(), anyInt(), anyInt()))
+                .thenReturn(page);
+
+        service = new RegistroMedicoService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "projectionQueryExecutor", projectionQueryExecutor);
+    }
+
+    @Test
+    void clientWhoDoesNotOwnTheRecordGetsNotFound() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Map.of("historiaId", 7L, "username", "otro")), eq(Boolean.class)))
+                .thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.listarPorHistoria(user("otro", "ROLE_CLIENTE"), 7L, null, 0, 20));
+
+        verifyNoInteractions(projectionQueryExecutor);
+    }
+
+    @Test
+    void ownerCanListRecords() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Map.of("historiaId", 7L, "username", "dueno")), eq(Boolean.class)))
+                .thenReturn(true);
+
+        assertSame(page, service.listarPorHistoria(user("dueno", "ROLE_CLIENTE"), 7L, null, 0, 20));
+    }
+
+    @Test
+    void staffSkipsOwnershipQuery() {
+        assertSame(page, service.listarPorHistoria(user("vet", "ROLE_VETERINARIO"), 7L, null, 0, 20));
+        assertSame(page, service.listarPorHistoria(user("sec", "SECRETARIO"), 7L, null, 0, 20));
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), anyMap(), eq(Boolean.class));
+    }
+
+    private Authentication user(String username, String role) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.veterinaria.gestionusuarios.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login por HTTP con la configuración real de seguridad y el usuario
+ * admin del seed de V1
+ *
+ * Recorre LoginThrottlingFilter, AuthController, ThrottledAuthenticationProvider,
+ * UsuarioDetailsService y BoundedPasswordEncoder; el token emitido se usa
+ * luego contra un endpoint protegido. Se omite si no hay Docker disponible.
+ */
+@SpringBootTest(properties = {
+        "veterinaria.auth.throttle.username.capacity=3",
+        "veterinaria.auth.throttle.username.refill-per-minute=1"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class AuthControllerTest {
+
+    private static final String ADMIN_PASSWORD = "JOHANfelipe12345";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginReturnsTokenAcceptedByProtectedEndpoints() throws Exception {
+        String body = login("admin", ADMIN_PASSWORD, "10.0.0.10")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.roles[0]").value("ROLE_ADMIN"))
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(body, "$.data.token");
+
+        mockMvc.perform(get("/productos").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void wrongPasswordIsUnauthorized() throws Exception {
+        login("admin", "incorrecta", "10.0.0.20").andExpect(status().isUnauthorized());
+        login("no-existe", "incorrecta", "10.0.0.20").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void guessingFromOneIpThrottlesOnlyThatIp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            login("admin", "adivinando-" + i, "203.0.113.7").andExpect(status().isUnauthorized());
+        }
+        login("admin", "adivinando", "203.0.113.7")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        // El dueño de la cuenta sigue entrando desde su red
+        login("admin", ADMIN_PASSWORD, "10.0.0.30").andExpect(status().isOk());
+    }
+
+    private ResultActions login(String username, String password, String ip) throws Exception {
+        return mockMvc.perform(post("/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.veterinaria.prestacioneservicios.service;
+
+import com.veterinaria.common.constants.CacheRegions;
+import com.veterinaria.config.SqlProfilingDataSourcePostProcessor;
+import com.veterinaria.prestacioneservicios.dto.ServicioResponse;
+import com.veterinaria.support.SqlAssertions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Caché de segundo nivel de servicios contra PostgreSQL real (esquema de Flyway)
+ *
+ * Cada llamada al servicio abre su propia sesión, así que lo que evita el
+ * SQL en la segunda lectura es la región de servicios y no la sesión.
+ * Se omite si no hay Docker disponible.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SqlProfilingDataSourcePostProcessor.class, ServicioService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class ServicioCacheTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private ServicioService servicioService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO servicios (nombre, tipo, precio_base, duracion_min, activo) VALUES "
+                + "('Consulta general', 'consulta', 45000, 30, TRUE), "
+                + "('Vacuna antirrábica', 'vacunacion', 38000, 15, TRUE), "
+                + "('Cirugía menor', 'cirugia', 250000, 90, FALSE)");
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM servicios");
+    }
+
+    @Test
+    void secondListingIsServedWithoutSql() throws Exception {
+        SqlAssertions.assertStatementCount(1, () -> servicioService.listarActivos());
+
+        AtomicReference<List<ServicioResponse>> second = new AtomicReference<>();
+        SqlAssertions.assertStatementCount(0, () -> second.set(servicioService.listarActivos()));
+
+        assertEquals(List.of("Consulta general", "Vacuna antirrábica"),
+                second.get().stream().map(ServicioResponse::getNombre).toList());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void secondLoadByIdHitsTheServiciosRegion() throws Exception {
+        Long id = jdbcTemplate.queryForObject(
+                "SELECT id_servicio FROM servicios WHERE nombre = 'Consulta general'", Long.class);
+
+        SqlAssertions.assertStatementCount(1, () -> servicioService.obtener(id));
+        SqlAssertions.assertStatementCount(0, () -> servicioService.obtener(id));
+
+        assertTrue(statistics.getDomainDataRegionStatistics(CacheRegions.SERVICIOS).getHitCount() >= 1);
+    }
+
+    @Test
+    void listingWarmsTheRegionForLoadsById() throws Exception {
+        List<ServicioResponse> activos = servicioService.listarActivos();
+
+        SqlAssertions.assertStatementCount(0, () -> servicioService.obtener(activos.get(0).getId()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.veterinaria.support;
+
+import com.veterinaria.common.sql.SqlProfile;
+import com.veterinaria.common.sql.SqlProfiler;
+
+import java.util.Map;
+
+/**
+ * Aserciones sobre las sentencias SQL ejecutadas por un bloque de código
+ *
+ * Sirve para fijar el número de consultas de endpoints clave en tests de
+ * integración (MockMvc corre en el mismo hilo, así que el alcance del test
+ * ve también las sentencias del request):
+ * <pre>
+ * SqlAssertions.assertStatementCount(2, () -> mockMvc.perform(get("/productos")));
+ * SqlAssertions.assertNoNPlusOne(() -> mockMvc.perform(get("/citas")));
+ * </pre>
+ */
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+
+    /**
+     * Ejecuta la acción y devuelve lo que se registró
+     */
+    public static SqlProfile capture(SqlAction action) throws Exception {
+        SqlProfile profile = SqlProfiler.start("test");
+        try {
+            action.run();
+        } finally {
+            SqlProfiler.stop(profile);
+        }
+        return profile;
+    }
+
+    public static SqlProfile assertStatementCount(int expected, SqlAction action) throws Exception {
+        SqlProfile profile = capture(action);
+        if (profile.getStatementCount() != expected) {
+            throw new AssertionError("Se esperaban " + expected + " sentencias SQL y se ejecutaron "
+                    + profile.getStatementCount() + describe(profile.getShapeCounts()));
+        }
+        return profile;
+    }
+
+    public static SqlProfile assertMaxStatements(int max, SqlAction action) throws Exception {
+        SqlProfile profile = capture(action);
+        if (profile.getStatementCount() > max) {
+            throw new AssertionError("Se esperaban como máximo " + max + " sentencias SQL y se ejecutaron "
+                    + profile.getStatementCount() + describe(profile.getShapeCounts()));
+        }
+        return profile;
+    }
+
+    public static SqlProfile assertNoNPlusOne(SqlAction action) throws Exception {
+        SqlProfile profile = capture(action);
+        Map<String, Integer> repeated = profile.repeatedShapes(SqlProfile.DEFAULT_N_PLUS_ONE_THRESHOLD);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Sentencias repetidas (posible N+1)" + describe(repeated));
+        }
+        return profile;
+    }
+
+    private static String describe(Map<String, Integer> shapes) {
+        StringBuilder description = new StringBuilder(":");
+        shapes.forEach((shape, count) -> description.append("\n  ").append(count).append("x ").append(shape));
+        return description.toString();
+    }
+}
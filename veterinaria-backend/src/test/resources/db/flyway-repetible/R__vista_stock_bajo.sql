@@ -0,0 +1,2 @@
+CREATE OR REPLACE VIEW vista_stock_bajo AS
+SELECT id_producto, nombre, stock FROM productos WHERE stock < 10;